@@ -0,0 +1,22 @@
+package com.LabourLine.LabourLine;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+// Connection to the scratch database the JDBC benchmarks create and fill their tables in.
+// DATABASE_URL has no default: falling back to the app's own database would load benchmark rows into it.
+final class BenchmarkDatabase {
+
+	private BenchmarkDatabase() {
+	}
+
+	static Connection connect() throws SQLException {
+		String url = System.getenv("DATABASE_URL");
+		if (url == null || url.isBlank()) {
+			throw new IllegalStateException(
+					"Set DATABASE_URL to a scratch Postgres database, e.g. jdbc:postgresql://localhost:5432/bench");
+		}
+		return DriverManager.getConnection(url, System.getenv("DATABASE_USERNAME"), System.getenv("DATABASE_PASSWORD"));
+	}
+}
@@ -0,0 +1,208 @@
+package com.LabourLine.LabourLine;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import com.LabourLine.LabourLine.config.PendingBidIndexInitializer;
+
+// Bids/sec for a bid storm on a handful of popular jobs, replaying the SQL each version of
+// LabourService.placeBid sends:
+//   entity - before: Work + eager employer (and that User's two profiles), then the bidder's User and
+//            profiles, then the INSERT, each statement auto-committed
+//   lean   - now: one projection row for the job, one for the bidder, the INSERT, one commit
+// Needs a scratch Postgres database:
+//   DATABASE_URL=jdbc:postgresql://localhost:5432/bench DATABASE_USERNAME=.. DATABASE_PASSWORD=.. \
+//   ./gradlew jmh -Pjmh.includes=BidIngestBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(16)
+public class BidIngestBenchmark {
+
+	private static final String PREFIX = "bid_bench_";
+	private static final int LABOURERS = 50_000;
+	private static final int POPULAR_JOBS = 20;
+
+	@Param({ "entity", "lean" })
+	public String path;
+
+	// Walks (labourer, job) pairs so every bid in an iteration is a new pending bid
+	private final AtomicLong nextBid = new AtomicLong();
+
+	@Setup(Level.Trial)
+	public void setUp() throws SQLException {
+		try (Connection connection = BenchmarkDatabase.connect(); Statement ddl = connection.createStatement()) {
+			ddl.execute("CREATE TABLE IF NOT EXISTS " + PREFIX + "users (id bigserial PRIMARY KEY, name varchar(255), "
+					+ "phone_no varchar(255), age int, role varchar(20), password varchar(255))");
+			ddl.execute("CREATE TABLE IF NOT EXISTS " + PREFIX + "labour (id bigserial PRIMARY KEY, user_id bigint UNIQUE, "
+					+ "rating float8, jobs_done int, experience int, skills varchar(255), total_earnings float8, "
+					+ "language varchar(50))");
+			ddl.execute("CREATE TABLE IF NOT EXISTS " + PREFIX + "employer (id bigserial PRIMARY KEY, user_id bigint UNIQUE, "
+					+ "total_spending float8, language varchar(50))");
+			ddl.execute("CREATE TABLE IF NOT EXISTS " + PREFIX + "work (id bigserial PRIMARY KEY, employer_id bigint, "
+					+ "title varchar(255), description varchar(1000), skills_required varchar(255), budget float8, "
+					+ "is_bidding_allowed boolean, status varchar(20), location varchar(255), latitude float8, "
+					+ "longitude float8, image varchar(255), thumbnail_url varchar(255), audio_url varchar(255), "
+					+ "created_at timestamp, version bigint, accepted_labour_id bigint)");
+			ddl.execute("CREATE TABLE IF NOT EXISTS " + PREFIX + "bids (id bigserial PRIMARY KEY, bid_amount float8 NOT NULL, "
+					+ "comment varchar(255), status varchar(20), created_at timestamp, "
+					+ "work_id bigint NOT NULL REFERENCES " + PREFIX + "work (id), "
+					+ "labour_id bigint NOT NULL REFERENCES " + PREFIX + "labour (id))");
+			ddl.execute("CREATE UNIQUE INDEX IF NOT EXISTS " + PREFIX + PendingBidIndexInitializer.INDEX_NAME + " ON "
+					+ PREFIX + "bids (work_id, labour_id) WHERE status = 'PENDING'");
+
+			try (ResultSet count = ddl.executeQuery("SELECT count(*) FROM " + PREFIX + "labour")) {
+				count.next();
+				if (count.getLong(1) >= LABOURERS) {
+					return;
+				}
+			}
+
+			ddl.execute("TRUNCATE " + PREFIX + "bids, " + PREFIX + "work, " + PREFIX + "labour, " + PREFIX + "employer, "
+					+ PREFIX + "users RESTART IDENTITY");
+			// Users 1..LABOURERS are labourers, the next POPULAR_JOBS are the employers of the jobs
+			ddl.execute("INSERT INTO " + PREFIX + "users (name, phone_no, age, role, password) "
+					+ "SELECT 'User ' || g, '9' || lpad(g::text, 9, '0'), 30, "
+					+ "CASE WHEN g <= " + LABOURERS + " THEN 'LABOUR' ELSE 'EMPLOYER' END, 'x' "
+					+ "FROM generate_series(1, " + (LABOURERS + POPULAR_JOBS) + ") g");
+			ddl.execute("INSERT INTO " + PREFIX + "labour (user_id, rating, jobs_done, experience, skills, total_earnings, language) "
+					+ "SELECT g, 0, 0, 2, 'painter,mason', 0, 'English' FROM generate_series(1, " + LABOURERS + ") g");
+			ddl.execute("INSERT INTO " + PREFIX + "employer (user_id, total_spending, language) "
+					+ "SELECT g, 0, 'English' FROM generate_series(" + (LABOURERS + 1) + ", " + (LABOURERS + POPULAR_JOBS) + ") g");
+			ddl.execute("INSERT INTO " + PREFIX + "work (employer_id, title, description, skills_required, budget, "
+					+ "is_bidding_allowed, status, location, latitude, longitude, created_at, version) "
+					+ "SELECT " + LABOURERS + " + g, 'Paint the house', 'Two rooms and a kitchen', 'painter', 5000, "
+					+ "true, 'OPEN', 'Pune', 18.52, 73.85, now(), 0 FROM generate_series(1, " + POPULAR_JOBS + ") g");
+			ddl.execute("ANALYZE");
+		}
+	}
+
+	@Setup(Level.Iteration)
+	public void clearBids() throws SQLException {
+		try (Connection connection = BenchmarkDatabase.connect(); Statement ddl = connection.createStatement()) {
+			ddl.execute("TRUNCATE " + PREFIX + "bids");
+		}
+		nextBid.set(0);
+	}
+
+	@State(Scope.Thread)
+	public static class Session {
+
+		private Connection connection;
+		// entity path
+		private PreparedStatement workWithEmployer;
+		private PreparedStatement userById;
+		private PreparedStatement labourByUser;
+		private PreparedStatement employerByUser;
+		// lean path
+		private PreparedStatement bidTarget;
+		private PreparedStatement bidder;
+		// both
+		private PreparedStatement insertBid;
+
+		@Setup(Level.Trial)
+		public void open(BidIngestBenchmark benchmark) throws SQLException {
+			connection = BenchmarkDatabase.connect();
+			connection.setAutoCommit(benchmark.path.equals("entity"));
+			workWithEmployer = connection.prepareStatement("SELECT w.*, e.*, a.* FROM " + PREFIX + "work w "
+					+ "JOIN " + PREFIX + "users e ON e.id = w.employer_id "
+					+ "LEFT JOIN " + PREFIX + "users a ON a.id = w.accepted_labour_id WHERE w.id = ?");
+			userById = connection.prepareStatement("SELECT * FROM " + PREFIX + "users WHERE id = ?");
+			labourByUser = connection.prepareStatement("SELECT * FROM " + PREFIX + "labour WHERE user_id = ?");
+			employerByUser = connection.prepareStatement("SELECT * FROM " + PREFIX + "employer WHERE user_id = ?");
+			bidTarget = connection.prepareStatement("SELECT w.id, w.is_bidding_allowed, w.status, w.employer_id FROM "
+					+ PREFIX + "work w WHERE w.id = ?");
+			bidder = connection.prepareStatement("SELECT l.id, u.name FROM " + PREFIX + "labour l JOIN " + PREFIX
+					+ "users u ON u.id = l.user_id WHERE u.id = ?");
+			insertBid = connection.prepareStatement("INSERT INTO " + PREFIX + "bids (bid_amount, comment, status, "
+					+ "created_at, work_id, labour_id) VALUES (?, 'Can start today', 'PENDING', now(), ?, ?)",
+					Statement.RETURN_GENERATED_KEYS);
+		}
+
+		@TearDown(Level.Trial)
+		public void close() throws SQLException {
+			connection.close();
+		}
+	}
+
+	@Benchmark
+	public long placeBid(Session session) throws SQLException {
+		long n = nextBid.getAndIncrement();
+		long userId = 1 + n % LABOURERS;
+		long workId = 1 + (n / LABOURERS) % POPULAR_JOBS;
+		return path.equals("entity") ? placeBidThroughEntities(session, userId, workId)
+				: placeBidLean(session, userId, workId);
+	}
+
+	private static long placeBidThroughEntities(Session session, long userId, long workId) throws SQLException {
+		long employerId;
+		try (ResultSet work = query(session.workWithEmployer, workId)) {
+			work.next();
+			employerId = work.getLong("employer_id");
+		}
+		// The employer's mappedBy profiles, then the bidder's User and profiles
+		drain(query(session.labourByUser, employerId));
+		drain(query(session.employerByUser, employerId));
+		drain(query(session.userById, userId));
+		long labourId;
+		try (ResultSet labour = query(session.labourByUser, userId)) {
+			labour.next();
+			labourId = labour.getLong("id");
+		}
+		drain(query(session.employerByUser, userId));
+		return insert(session, workId, labourId);
+	}
+
+	private static long placeBidLean(Session session, long userId, long workId) throws SQLException {
+		drain(query(session.bidTarget, workId));
+		long labourId;
+		try (ResultSet bidder = query(session.bidder, userId)) {
+			bidder.next();
+			labourId = bidder.getLong(1);
+		}
+		long bidId = insert(session, workId, labourId);
+		session.connection.commit();
+		return bidId;
+	}
+
+	private static long insert(Session session, long workId, long labourId) throws SQLException {
+		session.insertBid.setDouble(1, 4500);
+		session.insertBid.setLong(2, workId);
+		session.insertBid.setLong(3, labourId);
+		session.insertBid.executeUpdate();
+		try (ResultSet keys = session.insertBid.getGeneratedKeys()) {
+			keys.next();
+			return keys.getLong(1);
+		}
+	}
+
+	private static ResultSet query(PreparedStatement statement, long id) throws SQLException {
+		statement.setLong(1, id);
+		return statement.executeQuery();
+	}
+
+	private static void drain(ResultSet results) throws SQLException {
+		try (results) {
+			while (results.next()) {
+				// rows are materialised either way; the app would map them into entities
+			}
+		}
+	}
+}
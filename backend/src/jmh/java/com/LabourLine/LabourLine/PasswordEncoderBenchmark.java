@@ -0,0 +1,49 @@
+package com.LabourLine.LabourLine;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.LabourLine.LabourLine.config.AppConfig;
+
+// Cost of one login / one registration per encoder setting. Throughput gives hashes/sec per
+// thread; SampleTime gives the p99 a user waits. Use it to pick labourline.password.bcrypt-strength
+// for the CPU we deploy on, e.g. ./gradlew jmh -Pjmh.includes=PasswordEncoderBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PasswordEncoderBenchmark {
+
+	// "bcrypt:<strength>", or "pbkdf2" with the fixed Spring Security 5.8 defaults the app uses (310,000 iterations)
+	@Param({ "bcrypt:8", "bcrypt:10", "bcrypt:12", "pbkdf2" })
+	public String setting;
+
+	private PasswordEncoder encoder;
+	private String stored;
+
+	@Setup
+	public void setUp() {
+		String[] parts = setting.split(":");
+		int bcryptStrength = parts.length > 1 ? Integer.parseInt(parts[1]) : 10;
+		encoder = AppConfig.delegatingPasswordEncoder(parts[0], bcryptStrength);
+		stored = encoder.encode("correct horse battery staple");
+	}
+
+	@Benchmark
+	public boolean matches() {
+		return encoder.matches("correct horse battery staple", stored);
+	}
+
+	@Benchmark
+	public String encode() {
+		return encoder.encode("correct horse battery staple");
+	}
+}
@@ -0,0 +1,117 @@
+package com.LabourLine.LabourLine;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.LabourLine.LabourLine.repository.WorkRepository;
+import com.LabourLine.LabourLine.service.WorkTextSearchService;
+
+// Full-text search latency on a synthetic job table, using the same document expression, partial GIN
+// index and query shape as WorkRepository.searchOpen. Needs a scratch Postgres database:
+//   DATABASE_URL=jdbc:postgresql://localhost:5432/bench DATABASE_USERNAME=.. DATABASE_PASSWORD=.. \
+//   ./gradlew jmh -Pjmh.includes=WorkTextSearchBenchmark
+// The first run loads the rows (a few minutes for 1M); later runs reuse the table.
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class WorkTextSearchBenchmark {
+
+	private static final String TABLE = "work_fts_bench";
+
+	private static final String[] TRADES = { "plumber", "electrician", "painter", "carpenter", "mason",
+			"welder", "tiler", "gardener", "driver", "cleaner", "cook", "helper", "loader", "guard",
+			"mechanic", "roofer", "plasterer", "fitter", "tailor", "labourer" };
+	private static final String[] WORDS = { "urgent", "house", "office", "repair", "install", "pipe", "wall",
+			"kitchen", "bathroom", "roof", "floor", "door", "window", "paint", "wiring", "garden", "shop",
+			"site", "daily", "weekly", "shift", "night", "morning", "tools", "provided", "experienced" };
+
+	@Param({ "1000000" })
+	public int rows;
+
+	// Typical app searches: one full word, one short prefix, two words
+	@Param({ "plumber", "elec", "urgent paint" })
+	public String search;
+
+	private Connection connection;
+	private PreparedStatement statement;
+	private String query;
+
+	@Setup(Level.Trial)
+	public void setUp() throws SQLException {
+		connection = BenchmarkDatabase.connect();
+		loadSyntheticJobs();
+
+		query = WorkTextSearchService.toPrefixQuery(search);
+		statement = connection.prepareStatement("SELECT id, ts_rank(" + WorkRepository.SEARCH_DOCUMENT
+				+ ", to_tsquery('simple', ?)) AS rank FROM " + TABLE + " WHERE status = 'OPEN' AND "
+				+ WorkRepository.SEARCH_DOCUMENT + " @@ to_tsquery('simple', ?) ORDER BY rank DESC, id DESC LIMIT 20");
+	}
+
+	@Benchmark
+	public int searchOpen() throws SQLException {
+		statement.setString(1, query);
+		statement.setString(2, query);
+		int found = 0;
+		try (ResultSet results = statement.executeQuery()) {
+			while (results.next()) {
+				found++;
+			}
+		}
+		return found;
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws SQLException {
+		connection.close();
+	}
+
+	private void loadSyntheticJobs() throws SQLException {
+		try (Statement ddl = connection.createStatement()) {
+			ddl.execute("CREATE TABLE IF NOT EXISTS " + TABLE + " (id bigserial PRIMARY KEY, "
+					+ "title varchar(255), description varchar(1000), status varchar(20))");
+			try (ResultSet count = ddl.executeQuery("SELECT count(*) FROM " + TABLE)) {
+				count.next();
+				if (count.getLong(1) >= rows) {
+					return;
+				}
+			}
+
+			ddl.execute("TRUNCATE " + TABLE);
+			// 30% OPEN, like a live feed where most jobs are already taken or done
+			ddl.execute("INSERT INTO " + TABLE + " (title, description, status) "
+					+ "SELECT t.trades[1 + floor(random() * " + TRADES.length + ")::int] || ' needed for ' "
+					+ "|| t.words[1 + floor(random() * " + WORDS.length + ")::int], "
+					+ "(SELECT string_agg(t.words[1 + floor(random() * " + WORDS.length + ")::int], ' ') "
+					+ "FROM generate_series(1, 20 + g % 60)), "
+					+ "CASE WHEN random() < 0.3 THEN 'OPEN' ELSE 'COMPLETED' END "
+					+ "FROM generate_series(1, " + rows + ") g, "
+					+ "(SELECT " + sqlArray(TRADES) + " AS trades, " + sqlArray(WORDS) + " AS words) t");
+			ddl.execute("CREATE INDEX IF NOT EXISTS idx_" + TABLE + "_open_fts ON " + TABLE
+					+ " USING gin (" + WorkRepository.SEARCH_DOCUMENT + ") WHERE status = 'OPEN'");
+			ddl.execute("ANALYZE " + TABLE);
+		}
+	}
+
+	private static String sqlArray(String[] values) {
+		StringBuilder array = new StringBuilder("ARRAY[");
+		for (int i = 0; i < values.length; i++) {
+			array.append(i == 0 ? "'" : ", '").append(values[i]).append("'");
+		}
+		return array.append("]").toString();
+	}
+}
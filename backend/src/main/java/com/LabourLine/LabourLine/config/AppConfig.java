@@ -1,15 +1,40 @@
 package com.LabourLine.LabourLine.config;
 
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
 
 @Configuration
+@EnableScheduling
 public class AppConfig {
+
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${labourline.password.encoder:bcrypt}") String encoder,
+            @Value("${labourline.password.bcrypt-strength:10}") int bcryptStrength) {
+        return delegatingPasswordEncoder(encoder, bcryptStrength);
+    }
+
+    // New hashes are written as "{id}hash" with the configured encoder; any stored hash matches
+    // through its own prefix. Hashes from before the prefix existed are plain bcrypt.
+    // Shared with PasswordEncoderBenchmark so the benchmark measures exactly what we run.
+    public static PasswordEncoder delegatingPasswordEncoder(String encoder, int bcryptStrength) {
+        Map<String, PasswordEncoder> encoders = Map.of(
+                "bcrypt", new BCryptPasswordEncoder(bcryptStrength),
+                "pbkdf2", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        if (!encoders.containsKey(encoder)) {
+            throw new IllegalArgumentException("Unknown password encoder: " + encoder);
+        }
+
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(encoder, encoders);
+        delegating.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+        return delegating;
     }
 
 }
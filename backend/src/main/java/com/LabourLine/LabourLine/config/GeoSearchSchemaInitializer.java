@@ -0,0 +1,34 @@
+package com.LabourLine.LabourLine.config;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.LabourLine.LabourLine.service.WorkSearchService;
+import com.LabourLine.LabourLine.service.WorkSearchService.GeoSearchMode;
+
+// ddl-auto can't create extensions or expression indexes, so the earthdistance
+// objects are created here the first time the app starts in that mode.
+@Component
+public class GeoSearchSchemaInitializer {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final WorkSearchService workSearchService;
+
+    public GeoSearchSchemaInitializer(JdbcTemplate jdbcTemplate, WorkSearchService workSearchService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.workSearchService = workSearchService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createSpatialObjects() {
+        if (workSearchService.getMode() != GeoSearchMode.EARTH_DISTANCE) {
+            return;
+        }
+        jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS cube");
+        jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS earthdistance");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_work_open_earth ON work "
+                + "USING gist (ll_to_earth(latitude, longitude)) WHERE status = 'OPEN'");
+    }
+}
@@ -4,15 +4,14 @@ import java.io.IOException;
 import java.util.Collections;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.annotation.Lazy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import com.LabourLine.LabourLine.entity.User;
-import com.LabourLine.LabourLine.repository.UserRepository;
+import com.LabourLine.LabourLine.dto.AuthenticatedUser;
 import com.LabourLine.LabourLine.utils.JwtUtils;
 
 import jakarta.servlet.FilterChain;
@@ -23,12 +22,22 @@ import jakarta.servlet.http.HttpServletResponse;
 @Component
 public class JwtFilter extends OncePerRequestFilter {
 
+    public enum AuthMode {
+        // Principal comes from the users table through PrincipalCache. A deleted user keeps access until
+        // their cache entry expires (principal-cache.ttl) unless PrincipalCache.invalidateUser is called
+        LOOKUP,
+        // Principal is built from the verified id / role claims; no database on the auth path
+        STATELESS
+    }
+
     @Autowired
-    private JwtUtils jwtUtil;
+    private PrincipalCache principalCache;
 
     @Autowired
-    @Lazy
-    private UserRepository userRepo;
+    private JwtUtils jwtUtil;
+
+    @Value("${labourline.auth.mode:LOOKUP}")
+    private AuthMode authMode;
 
 @Override
 protected boolean shouldNotFilter(HttpServletRequest request) {
@@ -47,9 +56,9 @@ protected boolean shouldNotFilter(HttpServletRequest request) {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
 
             String token = authHeader.substring(7);
-            String phone = jwtUtil.extractPhone(token);
-
-            User user = userRepo.findByPhoneNo(phone).orElse(null);
+            AuthenticatedUser user = authMode == AuthMode.STATELESS
+                    ? jwtUtil.toPrincipal(jwtUtil.parseClaims(token))
+                    : principalCache.resolve(token);
 
             if (user != null) {
                 UsernamePasswordAuthenticationToken authentication =
@@ -57,7 +66,7 @@ protected boolean shouldNotFilter(HttpServletRequest request) {
                                 user,
                                 null,
                                 Collections.singletonList(
-                                    new SimpleGrantedAuthority("ROLE_" + user.getRole())
+                                    new SimpleGrantedAuthority("ROLE_" + user.role())
                                 )
                         );
 
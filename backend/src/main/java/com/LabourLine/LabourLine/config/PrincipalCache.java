@@ -0,0 +1,91 @@
+package com.LabourLine.LabourLine.config;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import com.LabourLine.LabourLine.dto.AuthenticatedUser;
+import com.LabourLine.LabourLine.repository.UserRepository;
+import com.LabourLine.LabourLine.utils.JwtUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.jsonwebtoken.Claims;
+
+// Verified token -> principal, so a client polling with the same token pays for the
+// signature check and the user lookup once per TTL instead of on every request.
+// Keyed by a SHA-256 of the token so bearer tokens don't sit around in the heap.
+@Component
+public class PrincipalCache {
+
+    private record Entry(AuthenticatedUser principal, Instant tokenExpiresAt) {
+    }
+
+    private final Cache<String, Entry> cache;
+    private final JwtUtils jwtUtils;
+    private final UserRepository userRepository;
+
+    public PrincipalCache(JwtUtils jwtUtils, @Lazy UserRepository userRepository,
+            @Value("${labourline.auth.principal-cache.ttl:5m}") Duration ttl,
+            @Value("${labourline.auth.principal-cache.max-size:10000}") long maxSize) {
+        this.jwtUtils = jwtUtils;
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Entry>() {
+                    // Never outlive the token itself
+                    @Override
+                    public long expireAfterCreate(String key, Entry entry, long currentTime) {
+                        Duration untilTokenExpiry = Duration.between(Instant.now(), entry.tokenExpiresAt());
+                        return Math.max(0, Math.min(ttl.toNanos(), untilTokenExpiry.toNanos()));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, entry, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    // Null when the token is valid but its user no longer exists; misses aren't cached.
+    // Throws the JwtException from JwtUtils for a bad or expired token.
+    public AuthenticatedUser resolve(String token) {
+        Entry entry = cache.get(hash(token), key -> load(token));
+        return entry != null ? entry.principal() : null;
+    }
+
+    // Call after deleting or changing a user; otherwise their tokens resolve from here until the TTL runs out
+    public void invalidateUser(Long userId) {
+        cache.asMap().values().removeIf(entry -> entry.principal().id().equals(userId));
+    }
+
+    private Entry load(String token) {
+        Claims claims = jwtUtils.parseClaims(token);
+        return userRepository.findPrincipalByPhoneNo(claims.getSubject())
+                .map(principal -> new Entry(principal, claims.getExpiration().toInstant()))
+                .orElse(null);
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
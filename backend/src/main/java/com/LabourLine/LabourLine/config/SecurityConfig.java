@@ -1,19 +1,30 @@
 package com.LabourLine.LabourLine.config;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import jakarta.servlet.DispatcherType;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
+    // Cache counters are for whoever runs the server, not for app users. A reverse proxy on the same
+    // host makes every request look local, so operators prove themselves with a shared token instead
+    static final String ADMIN_TOKEN_HEADER = "X-Admin-Token";
+
     // Removed the class-level field to avoid confusion. 
     // We will inject it directly into the method below.
 
@@ -34,7 +45,8 @@ public class SecurityConfig {
     @Bean
     @Order(2)
     // FIX: Add JwtFilter as a parameter here. Spring will automatically inject it.
-    public SecurityFilterChain protectedFilterChain(HttpSecurity http, JwtFilter jwtFilter) throws Exception {
+    public SecurityFilterChain protectedFilterChain(HttpSecurity http, JwtFilter jwtFilter,
+            @Value("${labourline.cache.stats-token:}") String statsToken) throws Exception {
         http
             .csrf(csrf -> csrf.disable())
             .httpBasic(httpBasic -> httpBasic.disable())
@@ -43,6 +55,10 @@ public class SecurityConfig {
                 session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)
             )
             .authorizeHttpRequests(auth -> auth
+                // SSE streams finish on an async dispatch; the original request was already authenticated
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                .requestMatchers("/cache/**").access((authentication, context) -> new AuthorizationDecision(
+                        hasAdminToken(context.getRequest().getHeader(ADMIN_TOKEN_HEADER), statsToken)))
                 .anyRequest().authenticated()
             )
             // Now jwtFilter is not null because Spring injected it
@@ -51,11 +67,19 @@ public class SecurityConfig {
         return http.build();
     }
 
+    // No configured token locks the endpoint; the comparison is constant-time so the token can't be guessed byte by byte
+    static boolean hasAdminToken(String presented, String expected) {
+        if (expected == null || expected.isBlank() || presented == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(presented.getBytes(StandardCharsets.UTF_8), expected.getBytes(StandardCharsets.UTF_8));
+    }
+
     @Bean
 @Order(0) // Highest priority: check for files first
 public SecurityFilterChain fileFilterChain(HttpSecurity http) throws Exception {
     http
-        .securityMatcher("/files/**") // Match the virtual path you defined in WebConfig
+        .securityMatcher("/files/**") // Served by FileController
         .csrf(csrf -> csrf.disable())
         .authorizeHttpRequests(auth -> auth.anyRequest().permitAll()) // Make audio public
         .sessionManagement(session -> 
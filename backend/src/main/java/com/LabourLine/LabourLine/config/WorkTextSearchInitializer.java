@@ -0,0 +1,26 @@
+package com.LabourLine.LabourLine.config;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.LabourLine.LabourLine.repository.WorkRepository;
+
+// ddl-auto can't create expression indexes, so the full-text index behind
+// WorkRepository.searchOpen is created here. Partial: only OPEN jobs are ever searched.
+@Component
+public class WorkTextSearchInitializer {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public WorkTextSearchInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createSearchIndex() {
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_work_open_fts ON work "
+                + "USING gin (" + WorkRepository.SEARCH_DOCUMENT + ") WHERE status = 'OPEN'");
+    }
+}
@@ -1,6 +1,11 @@
 package com.LabourLine.LabourLine.controller;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -36,10 +41,15 @@ public ResponseEntity<AuthResponse> register(@RequestBody RegisterRequest req) {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody LoginRequestDto req) {
-  
-        String token = authService.login(req);
-        return ResponseEntity.ok(token);
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody LoginRequestDto req) {
+        try {
+            return authService.login(req).<ResponseEntity<?>>thenApply(ResponseEntity::ok);
+        } catch (TaskRejectedException e) {
+            // Hash pool is saturated; tell the app to back off instead of holding the connection
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "2")
+                    .body(e.getMessage()));
+        }
     }
 
 }
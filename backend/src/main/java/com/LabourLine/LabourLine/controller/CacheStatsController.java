@@ -0,0 +1,27 @@
+package com.LabourLine.LabourLine.controller;
+
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.LabourLine.LabourLine.service.ProfileCache;
+
+@RestController
+@RequestMapping("/cache")
+public class CacheStatsController {
+
+    private final ProfileCache profileCache;
+
+    public CacheStatsController(ProfileCache profileCache) {
+        this.profileCache = profileCache;
+    }
+
+    // Second-level and query cache hit / miss counters since startup; SecurityConfig requires the X-Admin-Token header
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getStats() {
+        return ResponseEntity.ok(profileCache.getStatistics());
+    }
+}
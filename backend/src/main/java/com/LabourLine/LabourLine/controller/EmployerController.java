@@ -1,19 +1,29 @@
 package com.LabourLine.LabourLine.controller;
 
-import com.LabourLine.LabourLine.entity.Work;
-import com.LabourLine.LabourLine.entity.WorkAccepted;
-import com.LabourLine.LabourLine.entity.type.WorkAcceptedStatus;
-import com.LabourLine.LabourLine.entity.type.WorkStatus;
+import com.LabourLine.LabourLine.dto.ActiveWorkView;
+import com.LabourLine.LabourLine.dto.AuthenticatedUser;
+import com.LabourLine.LabourLine.dto.WorkCursor;
+import com.LabourLine.LabourLine.dto.WorkSummaryView;
+import com.LabourLine.LabourLine.entity.type.Role;
 import com.LabourLine.LabourLine.repository.WorkAcceptedRepository;
 import com.LabourLine.LabourLine.repository.WorkRepository;
 import com.LabourLine.LabourLine.service.BidResponseDto;
 import com.LabourLine.LabourLine.service.EmployerService;
+import com.LabourLine.LabourLine.service.LabourLocator;
+import com.LabourLine.LabourLine.service.WorkConflictException;
+import com.LabourLine.LabourLine.service.WorkEventHub;
+import com.LabourLine.LabourLine.utils.GeoUtils;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.time.LocalDateTime;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -30,46 +40,71 @@ public class EmployerController {
     private EmployerService employerService;
     @Autowired
     private WorkAcceptedRepository workAcceptedRepository;
+    @Autowired
+    private WorkEventHub workEventHub;
+    @Autowired
+    private LabourLocator labourLocator;
 
-    @PutMapping("/complete-work")
-    public ResponseEntity<?> completeWork(@RequestParam("workId") Long workId,
-            @RequestParam("employerId") Long employerId) {
+    // Push stream of bid / hire notifications for the signed-in employer
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@AuthenticationPrincipal AuthenticatedUser employer) {
+        return workEventHub.subscribe(employer.id());
+    }
 
-        // 1. Find the Work
-        Optional<Work> workOpt = workRepository.findById(workId);
-        if (workOpt.isEmpty()) {
-            return ResponseEntity.badRequest().body("Work not found");
+    // Live position of the labourer hired for this job, pushed on every GPS tick
+    @GetMapping(path = "/work/{workId}/track", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> trackWork(@PathVariable Long workId, @AuthenticationPrincipal AuthenticatedUser employer) {
+        try {
+            return ResponseEntity.ok(employerService.trackWork(workId, employer.id()));
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
         }
-        Work work = workOpt.get();
+    }
 
-        if (!work.getEmployer().getId().equals(employerId)) {
-            return ResponseEntity.status(403).body("Unauthorized: You are not the employer for this work.");
+    // Labourers near the job, nearest first, with a recent position and (by default) the job's skills
+    @GetMapping("/work/{workId}/nearby-labourers")
+    public ResponseEntity<?> getNearbyLabourers(@PathVariable Long workId,
+            @AuthenticationPrincipal AuthenticatedUser employer,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "10") double maxDistance,
+            @RequestParam(defaultValue = "30") long maxAgeMinutes,
+            @RequestParam(required = false) String skills) {
+        if (employer.role() != Role.EMPLOYER) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Only employers can search for labourers");
         }
-
-        Optional<WorkAccepted> acceptedOpt = workAcceptedRepository.findByWorkId(workId);
-        if (acceptedOpt.isEmpty()) {
-            return ResponseEntity.badRequest().body("This work has not been accepted by any labour yet.");
+        try {
+            int pageSize = WorkCursor.pageSize(limit, LabourLocator.DEFAULT_LIMIT, LabourLocator.MAX_LIMIT);
+            double radiusKm = Math.min(maxDistance, GeoUtils.MAX_SEARCH_RADIUS_KM);
+            return ResponseEntity.ok(labourLocator.findNearWork(workId, pageSize, radiusKm,
+                    Duration.ofMinutes(maxAgeMinutes), skills));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         }
-        WorkAccepted workAccepted = acceptedOpt.get();
-
-        work.setStatus(WorkStatus.COMPLETED);
-        workRepository.save(work);
-
-        workAccepted.setStatus(WorkAcceptedStatus.COMPLETED);
-
-        workAcceptedRepository.save(workAccepted);
+    }
 
-        return ResponseEntity.ok("Work marked as completed. Payment released.");
+    @PutMapping("/complete-work")
+    public ResponseEntity<?> completeWork(@RequestParam("workId") Long workId,
+            @RequestParam("employerId") Long employerId) {
+        try {
+            employerService.completeWork(workId, employerId);
+            return ResponseEntity.ok("Work marked as completed. Payment released.");
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(403).body(e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     @GetMapping("/work-status/{workId}")
     public ResponseEntity<?> getWorkStatus(@RequestParam("workId") Long workId) {
-        Optional<WorkAccepted> acceptedOpt = workAcceptedRepository.findByWorkId(workId);
+        Optional<ActiveWorkView> acceptedOpt = workAcceptedRepository.findViewByWorkId(workId);
         if (acceptedOpt.isPresent()) {
             return ResponseEntity.ok(acceptedOpt.get());
         }
 
-        Optional<Work> workOpt = workRepository.findById(workId);
+        Optional<WorkSummaryView> workOpt = workRepository.findSummaryById(workId);
         if (workOpt.isPresent()) {
             return ResponseEntity.ok(java.util.Map.of("work", workOpt.get(), "status", "OPEN"));
         }
@@ -89,6 +124,10 @@ public class EmployerController {
             Map<String, Object> confirmedBidData = employerService.confirmBid(bidId); 
             
             return ResponseEntity.ok(confirmedBidData); // Returns { "id": 5, "labourId": 2, ... }
+        } catch (WorkConflictException e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
         } catch (Exception e) {
             // Return error as JSON so React Native can parse it properly
             Map<String, String> errorResponse = new HashMap<>();
@@ -3,24 +3,32 @@ package com.LabourLine.LabourLine.controller;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.LabourLine.LabourLine.dto.ActiveWorkView;
+import com.LabourLine.LabourLine.dto.AuthenticatedUser;
 import com.LabourLine.LabourLine.dto.BidRequest;
-import com.LabourLine.LabourLine.entity.Bid;
+import com.LabourLine.LabourLine.dto.LiveLocation;
+import com.LabourLine.LabourLine.dto.LocationUpdateRequest;
+import com.LabourLine.LabourLine.dto.OpenWorkView;
+import com.LabourLine.LabourLine.dto.WorkCursor;
 import com.LabourLine.LabourLine.entity.LabourDetails;
-import com.LabourLine.LabourLine.entity.LabourLocation;
-import com.LabourLine.LabourLine.entity.User;
-import com.LabourLine.LabourLine.entity.Work;
-import com.LabourLine.LabourLine.entity.WorkAccepted;
 import com.LabourLine.LabourLine.entity.type.WorkAcceptedStatus;
 import com.LabourLine.LabourLine.repository.BidRepository;
 import com.LabourLine.LabourLine.repository.UserRepository;
 import com.LabourLine.LabourLine.repository.WorkAcceptedRepository; // 1. Import this
 import com.LabourLine.LabourLine.service.AuthService;
 import com.LabourLine.LabourLine.service.LabourService;
-import com.LabourLine.LabourLine.utils.JwtUtils;
+import com.LabourLine.LabourLine.service.WorkConflictException;
+import com.LabourLine.LabourLine.service.WorkEventHub;
+import com.LabourLine.LabourLine.service.WorkRecommendationService;
+import com.LabourLine.LabourLine.utils.GeoUtils;
 
 @RestController
 @RequestMapping("/labour")
@@ -30,18 +38,28 @@ public class LabourController {
     private final LabourService labourService;
     private final UserRepository userRepository;
     private final WorkAcceptedRepository workAcceptedRepository; // 2. Declare the repository
-    private final JwtUtils jwtService;
     private final BidRepository bidRepository;
+    private final WorkEventHub workEventHub;
+    private final WorkRecommendationService workRecommendationService;
 
     // 3. Update Constructor to inject ALL dependencies
     public LabourController(LabourService labourService,
             UserRepository userRepository,
-            WorkAcceptedRepository workAcceptedRepository, JwtUtils jwtService, BidRepository bidRepository) {
+            WorkAcceptedRepository workAcceptedRepository, BidRepository bidRepository,
+            WorkEventHub workEventHub, WorkRecommendationService workRecommendationService) {
         this.labourService = labourService;
         this.userRepository = userRepository;
         this.workAcceptedRepository = workAcceptedRepository;
-        this.jwtService = jwtService;
         this.bidRepository = bidRepository;
+        this.workEventHub = workEventHub;
+        this.workRecommendationService = workRecommendationService;
+    }
+
+    // Push stream of accept / reject / complete notifications for the signed-in labourer.
+    // Replaces polling active-work and check-accepted-bids.
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@AuthenticationPrincipal AuthenticatedUser labour) {
+        return workEventHub.subscribe(labour.id());
     }
 
     @PutMapping("/{userId}/skills")
@@ -57,14 +75,11 @@ public class LabourController {
     @GetMapping("/active-work/{labourId}")
     public ResponseEntity<?> getActiveWork(@PathVariable Long labourId) {
         // Check if labour exists
-        System.out.println("Labour id " + labourId);
-        Optional<User> labourOpt = userRepository.findById(labourId);
-        System.out.println("This is labour " + labourOpt);
-        if (labourOpt.isEmpty()) {
+        if (!userRepository.existsById(labourId)) {
             return ResponseEntity.badRequest().body("Labour not found");
         }
 
-        Optional<WorkAccepted> activeWork = workAcceptedRepository.findByLabourIdAndStatus(labourId,
+        Optional<ActiveWorkView> activeWork = workAcceptedRepository.findViewByLabourIdAndStatus(labourId,
                 WorkAcceptedStatus.ACCEPTED);
 
         if (activeWork.isPresent()) {
@@ -75,56 +90,72 @@ public class LabourController {
     }
 
     @PostMapping("/update-location")
-    public ResponseEntity<?> updateLocation(@RequestBody LabourLocation request) {
-        System.out.println("Last Location " + request.getLastLatitude());
-        // Update the Labourer record with new Lat/Lng
-        labourService.updateCurrentLocation(
-                request.getLabourId(),
-                73.8636,
-                18.5018);
-        return ResponseEntity.ok().build();
+    public ResponseEntity<?> updateLocation(@AuthenticationPrincipal AuthenticatedUser labour,
+            @RequestBody LocationUpdateRequest request) {
+        // Labourers only ever move themselves; the app still sends its own User id in the body
+        if (request.getLabourId() != null && !request.getLabourId().equals(labour.id())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("You can only report your own location");
+        }
+        // Update the Labourer's live position with the reported Lat/Lng
+        try {
+            labourService.updateCurrentLocation(
+                    labour.id(),
+                    request.getLatitude(),
+                    request.getLongitude());
+            return ResponseEntity.ok().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     @GetMapping("/{labourId}")
-    public ResponseEntity<LabourLocation> getLabourLocation(@PathVariable Long labourId) {
-        // 1. Fetch the location
-        LabourLocation loc = labourService.getLabourLocation(labourId);
+    public ResponseEntity<LiveLocation> getLabourLocation(@PathVariable Long labourId) {
+        LiveLocation loc = labourService.getLabourLocation(labourId);
 
-        // 2. CHECK if it exists BEFORE accessing data
         if (loc != null) {
-            System.out.println("Labour Found! Latitude: " + loc.getLastLatitude());
             return ResponseEntity.ok(loc);
         }
-
-        // 3. If null, print that it wasn't found and return 404
-        System.out.println("No location found for Labour ID: " + labourId);
         return ResponseEntity.notFound().build();
     }
 
     @PostMapping("/bid")
     public ResponseEntity<?> placeBid(@RequestBody BidRequest request) {
-        System.out.println("Bidding started");
         try {
-            Bid bid = labourService.placeBid(request);
-            return ResponseEntity.ok(bid);
+            return ResponseEntity.ok(labourService.placeBid(request));
+        } catch (WorkConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 
-    @GetMapping("/check-accepted-bids")
-    public ResponseEntity<?> checkAcceptedBids(@RequestHeader("Authorization") String token) {
-        String jwt = token.substring(7);
+    // Best-matching OPEN jobs nearby, ranked by distance, skill match, pay and how recently they were posted
+    @GetMapping("/recommended-work")
+    public ResponseEntity<?> getRecommendedWork(@AuthenticationPrincipal AuthenticatedUser labour,
+            @RequestParam(defaultValue = "20") double maxDistance,
+            @RequestParam(required = false) Double userLat,
+            @RequestParam(required = false) Double userLng,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            double radiusKm = Math.min(maxDistance, GeoUtils.MAX_SEARCH_RADIUS_KM);
+            return ResponseEntity.ok(workRecommendationService.recommend(labour.id(), userLat, userLng, radiusKm,
+                    WorkCursor.pageSize(limit)));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
 
-        // 2. Extract ID
-        Long workerId = jwtService.extractId(jwt);
+    @GetMapping("/check-accepted-bids")
+    public ResponseEntity<?> checkAcceptedBids(@AuthenticationPrincipal AuthenticatedUser labour) {
+        // JwtFilter has already verified the token; no need to parse it again
+        Long workerId = labour.id();
 
-        List<Bid> acceptedBids = bidRepository.findByLabourIdAndStatus(workerId, "ACCEPTED");
+        List<OpenWorkView> acceptedWorks = bidRepository.findWorkViewsByLabourUserIdAndStatus(workerId, "ACCEPTED",
+                Limit.of(1));
 
-        if (!acceptedBids.isEmpty()) {
-            // Return the first accepted job found
-            Work acceptedWork = acceptedBids.get(0).getWork();
-            return ResponseEntity.ok(acceptedWork);
+        if (!acceptedWorks.isEmpty()) {
+            // Return the latest accepted job found
+            return ResponseEntity.ok(acceptedWorks.get(0));
         }
 
         return ResponseEntity.noContent().build(); // 204 No Content (Nothing new)
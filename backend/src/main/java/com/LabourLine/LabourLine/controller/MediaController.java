@@ -1,17 +1,15 @@
-
 package com.LabourLine.LabourLine.controller;
 
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
-import java.io.File;
+import com.LabourLine.LabourLine.service.MediaProcessor;
+import com.LabourLine.LabourLine.service.MediaStorage;
+
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.util.UUID;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -20,30 +18,21 @@ import java.util.Map;
 @CrossOrigin(origins = "*") // Allow React Native to access
 public class MediaController {
 
-    // 1. DEFINE WHERE TO STORE FILES ON YOUR LAPTOP
-    // Make sure this folder exists! 
-    private static final String UPLOAD_DIR = "E:/react-native/LabourLine/uploads/";
+    private final MediaStorage mediaStorage;
+    private final MediaProcessor mediaProcessor;
+
+    public MediaController(MediaStorage mediaStorage, MediaProcessor mediaProcessor) {
+        this.mediaStorage = mediaStorage;
+        this.mediaProcessor = mediaProcessor;
+    }
 
     @PostMapping("/media")
     public ResponseEntity<Map<String, String>> uploadFile(@RequestParam("file") MultipartFile file) {
         try {
-            // Ensure directory exists
-            File directory = new File(UPLOAD_DIR);
-            if (!directory.exists()) {
-                directory.mkdirs();
-            }
-            
-
-            // 2. GENERATE UNIQUE FILENAME
-            String originalName = file.getOriginalFilename();
-            String extension = originalName.substring(originalName.lastIndexOf("."));
-            String fileName = UUID.randomUUID().toString() + extension;
+            // 1. STREAM THE FILE INTO THE STORAGE ROOT
+            String fileName = mediaStorage.store(file);
 
-            // 3. SAVE FILE TO LAPTOP DISK
-            Path filePath = Paths.get(UPLOAD_DIR + fileName);
-            Files.write(filePath, file.getBytes());
-
-            // 4. GENERATE URL FOR FRONTEND
+            // 2. GENERATE URL FOR FRONTEND
             // This creates a URL like: http://10.62.29.175:8080/files/unique-name.mp3
             String fileUrl = ServletUriComponentsBuilder.fromCurrentContextPath()
                     .path("/files/")
@@ -53,11 +42,26 @@ public class MediaController {
             Map<String, String> response = new HashMap<>();
             response.put("url", fileUrl);
 
+            // 3. PHOTOS GET A THUMBNAIL, GENERATED IN THE BACKGROUND
+            String thumbnailUrl = mediaProcessor.scheduleThumbnail(fileName, fileUrl);
+            if (thumbnailUrl != null) {
+                response.put("thumbnailUrl", thumbnailUrl);
+            }
+
             return ResponseEntity.ok(response);
 
+        } catch (MediaStorage.MediaTooLargeException e) {
+            return tooLarge(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (IOException e) {
             e.printStackTrace();
             return ResponseEntity.internalServerError().build();
         }
     }
-}
\ No newline at end of file
+
+    // Bodies over spring.servlet.multipart.max-file-size never get here; Spring answers those with 413 itself
+    private ResponseEntity<Map<String, String>> tooLarge(String message) {
+        return ResponseEntity.status(HttpStatus.CONTENT_TOO_LARGE).body(Map.of("error", message));
+    }
+}
@@ -1,22 +1,42 @@
 package com.LabourLine.LabourLine.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.LabourLine.LabourLine.dto.EmployerWorkView;
+import com.LabourLine.LabourLine.dto.OpenWorkView;
+import com.LabourLine.LabourLine.dto.WorkCursor;
 import com.LabourLine.LabourLine.dto.WorkDto;
 import com.LabourLine.LabourLine.entity.User;
 import com.LabourLine.LabourLine.entity.Work;
-import com.LabourLine.LabourLine.entity.WorkAccepted;
-import com.LabourLine.LabourLine.entity.type.WorkAcceptedStatus;
 import com.LabourLine.LabourLine.entity.type.WorkStatus;
 import com.LabourLine.LabourLine.repository.UserRepository;
-import com.LabourLine.LabourLine.repository.WorkAcceptedRepository;
 import com.LabourLine.LabourLine.repository.WorkRepository;
+import com.LabourLine.LabourLine.service.LabourService;
+import com.LabourLine.LabourLine.service.MediaProcessor;
+import com.LabourLine.LabourLine.service.OpenWorkIndex;
+import com.LabourLine.LabourLine.service.OpenWorkSnapshot;
+import com.LabourLine.LabourLine.service.WorkConflictException;
+import com.LabourLine.LabourLine.service.WorkSearchService;
+import com.LabourLine.LabourLine.service.WorkTextSearchService;
+import com.LabourLine.LabourLine.utils.GeoGrid;
+import com.LabourLine.LabourLine.utils.GeoUtils;
+import com.LabourLine.LabourLine.utils.LongHashSet;
+import com.LabourLine.LabourLine.utils.SkillIndex;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @RestController
@@ -29,7 +49,22 @@ public class WorkController {
     private UserRepository userRepository;
 
     @Autowired
-    private WorkAcceptedRepository workAcceptedRepository;
+    private OpenWorkIndex openWorkIndex;
+
+    @Autowired
+    private OpenWorkSnapshot openWorkSnapshot;
+
+    @Autowired
+    private WorkSearchService workSearchService;
+
+    @Autowired
+    private LabourService labourService;
+
+    @Autowired
+    private MediaProcessor mediaProcessor;
+
+    @Autowired
+    private WorkTextSearchService workTextSearchService;
 
     @PostMapping("/employer/post-work")
     public ResponseEntity<?> postWork(@RequestBody WorkDto request) {
@@ -52,100 +87,167 @@ public class WorkController {
             newWork.setBudget(request.getBudget());
             newWork.setBiddingAllowed(request.isBiddingAllowed());
             newWork.setStatus(WorkStatus.OPEN); // Default status
+            newWork.setCreatedAt(LocalDateTime.now());
 
             // Map Location & Media
             newWork.setLocation(request.getLocation());
             newWork.setLatitude(request.getLatitude());
             newWork.setLongitude(request.getLongitude());
             newWork.setImage(request.getImage());
+            newWork.setThumbnailUrl(mediaProcessor.thumbnailUrlFor(request.getImage()));
             newWork.setAudioUrl(request.getAudioUrl());
         Work savedWork = workRepository.save(newWork); 
+        openWorkIndex.add(savedWork);
+        if (savedWork.getThumbnailUrl() == null) {
+            // The thumbnail may have finished between the check above and the commit
+            savedWork.setThumbnailUrl(mediaProcessor.attachThumbnailIfReady(savedWork.getImage()));
+        }
 
         return ResponseEntity.ok(savedWork);
     }
 
    @GetMapping("/labour/open-work")
-    public ResponseEntity<List<Work>> getOpenWork(
+    public ResponseEntity<?> getOpenWork(
             @RequestParam(required = false) Double maxDistance,
             @RequestParam(required = false) Double userLat,
-            @RequestParam(required = false) Double userLng
+            @RequestParam(required = false) Double userLng,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String skills,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     ) {
-        // 1. Fetch all OPEN jobs first
-        List<Work> openWorks = workRepository.findByStatus(WorkStatus.OPEN);
-
-        // 2. If the frontend sent location filters, apply them
-        if (maxDistance != null && userLat != null && userLng != null) {
-            openWorks = openWorks.stream()
-                    .filter(work -> {
-                        // Skip jobs that don't have a location set in the database
-                        if (work.getLatitude() == null || work.getLongitude() == null) {
-                            return false; 
-                        }
-                        
-                        // Calculate distance in kilometers 
-                        double distance = calculateDistance(
-                                userLat, userLng, 
-                                work.getLatitude(), work.getLongitude()
-                        );
-                        
-                        // Keep only jobs within the max radius
-                        return distance <= maxDistance;
-                    })
-                    .collect(Collectors.toList());
+        // Every variant of the feed is derived from the OPEN job set, so its version is the ETag:
+        // an unchanged set means an unchanged response, answered without touching the DB
+        OpenWorkSnapshot.Snapshot snapshot = openWorkSnapshot.current();
+        if (matchesEtag(ifNoneMatch, snapshot.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(snapshot.etag()).build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(snapshot.etag())
+                .cacheControl(CacheControl.noCache());
+
+        int pageSize = WorkCursor.pageSize(limit);
+        WorkCursor after;
+        try {
+            after = WorkCursor.parse(cursor);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         }
 
-        return ResponseEntity.ok(openWorks);
-    }
-    private double calculateDistance(double lat1, double lon1, double lat2, double lon2) {
-        final int R = 6371; // Radius of the earth in kilometers
+        // Optional skill filter ("plumber, tiling"): jobs asking for any of them, from the in-memory index
+        Set<String> skillTokens = SkillIndex.tokenize(skills);
+        LongHashSet skillMatches = skillTokens.isEmpty() ? null : openWorkIndex.findMatchingSkills(skillTokens);
+
+        // 1. No location filter: newest OPEN jobs first
+        if (maxDistance == null || userLat == null || userLng == null) {
+            if (after != null && after.distanceKm() != null) {
+                return ResponseEntity.badRequest().body("Distance cursor needs maxDistance, userLat and userLng");
+            }
+            // The plain first page is what the apps poll: send the bytes rendered when the snapshot was built
+            if (skillMatches == null && after == null && pageSize == WorkCursor.DEFAULT_PAGE_SIZE) {
+                if (snapshot.firstPageCursor() != null) {
+                    response.header(WorkCursor.HEADER, snapshot.firstPageCursor());
+                }
+                return response.contentType(MediaType.APPLICATION_JSON).body(snapshot.firstPageJson());
+            }
+            // Fetch one extra row to know whether there is a next page
+            List<OpenWorkView> works = skillMatches != null
+                    ? findNewestById(snapshot, skillMatches, after == null ? null : after.id(), pageSize + 1)
+                    : snapshot.page(after == null ? null : after.id(), pageSize + 1);
+            return newestFirstPage(response, works, pageSize, OpenWorkView::id);
+        }
+
+        if (after != null && after.distanceKm() == null) {
+            return ResponseEntity.badRequest().body("Location searches need a distance cursor");
+        }
 
-        double latDistance = Math.toRadians(lat2 - lat1);
-        double lonDistance = Math.toRadians(lon2 - lon1);
+        // 2. Location filter: page through nearby job ids by distance, then take that page's cards from the snapshot
+        double radiusKm = Math.min(maxDistance, GeoUtils.MAX_SEARCH_RADIUS_KM);
+        List<GeoGrid.Hit> hits = workSearchService.findOpenNearPage(userLat, userLng, radiusKm,
+                skillMatches == null ? null : skillMatches::contains, after, pageSize + 1);
+        List<GeoGrid.Hit> pageHits = hits.subList(0, Math.min(pageSize, hits.size()));
 
-        double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2)
-                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
-                * Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
+        List<OpenWorkView> openWorks = pageHits.stream()
+                .map(hit -> snapshot.byId().get(hit.id()))
+                .filter(work -> work != null)
+                .collect(Collectors.toList());
 
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+        if (hits.size() > pageSize) {
+            GeoGrid.Hit last = pageHits.get(pageHits.size() - 1);
+            response.header(WorkCursor.HEADER, WorkCursor.byDistance(last.distanceKm(), last.id()).encode());
+        }
+        return response.body(openWorks);
+    }
 
-        return R * c; // Returns distance in kilometers
+    // Keyword search over OPEN jobs' titles and descriptions, best match first
+    @GetMapping("/labour/search-work")
+    public ResponseEntity<List<OpenWorkView>> searchWork(@RequestParam("q") String query,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(workTextSearchService.search(query, WorkCursor.pageSize(limit)));
     }
 
     @GetMapping("/employer/{employerId}/my-open-work")
-    public ResponseEntity<List<Work>> getMyOpenWork(@PathVariable("employerId") Long employerId) {
-        List<Work> myWorks = workRepository.findByEmployerId(employerId);
-        return ResponseEntity.ok(myWorks);
-    }
+    public ResponseEntity<?> getMyOpenWork(@PathVariable("employerId") Long employerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        int pageSize = WorkCursor.pageSize(limit);
+        WorkCursor after;
+        try {
+            after = WorkCursor.parse(cursor);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
 
-      @PostMapping("/labour/accept-work")
-    public ResponseEntity<?> acceptWork(@RequestParam("labourId") Long labourId, @RequestParam("workId") Long workId) {
+        List<EmployerWorkView> myWorks = after == null
+                ? workRepository.findEmployerViews(employerId, Limit.of(pageSize + 1))
+                : workRepository.findEmployerViewsAfter(employerId, after.id(), Limit.of(pageSize + 1));
+        return newestFirstPage(ResponseEntity.ok(), myWorks, pageSize, EmployerWorkView::id);
+    }
 
-        Optional<Work> workOpt = workRepository.findById(workId);
-        if (workOpt.isEmpty()) {
-            return ResponseEntity.badRequest().body("Work not found");
+    // Newest-first page of the given job ids, below the cursor id; the ids come from an index, the cards from the snapshot
+    private List<OpenWorkView> findNewestById(OpenWorkSnapshot.Snapshot snapshot, LongHashSet workIds, Long beforeId,
+            int limit) {
+        long[] ids = workIds.toArray();
+        Arrays.sort(ids);
+        List<OpenWorkView> page = new ArrayList<>(limit);
+        for (int i = ids.length - 1; i >= 0 && page.size() < limit; i--) {
+            OpenWorkView work = snapshot.byId().get(ids[i]);
+            if (work != null && (beforeId == null || ids[i] < beforeId)) {
+                page.add(work);
+            }
         }
-        Work work = workOpt.get();
+        return page;
+    }
 
-        if (work.getStatus() != WorkStatus.OPEN) {
-            return ResponseEntity.badRequest().body("This work is already accepted or completed.");
+    // Trims the extra look-ahead row and, if it was there, advertises the next cursor
+    private <T> ResponseEntity<List<T>> newestFirstPage(ResponseEntity.BodyBuilder response, List<T> rows,
+            int pageSize, Function<T, Long> idOf) {
+        if (rows.size() <= pageSize) {
+            return response.body(rows);
         }
+        List<T> page = rows.subList(0, pageSize);
+        return response
+                .header(WorkCursor.HEADER, WorkCursor.byId(idOf.apply(page.get(pageSize - 1))).encode())
+                .body(page);
+    }
 
-        Optional<User> labourOpt = userRepository.findById(labourId);
-        if (labourOpt.isEmpty()) {
-            return ResponseEntity.badRequest().body("Labour not found");
+    private static boolean matchesEtag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
         }
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .anyMatch(candidate -> candidate.equals(etag) || candidate.equals("W/" + etag));
+    }
 
-        WorkAccepted workAccepted = new WorkAccepted();
-        workAccepted.setWork(work);
-        workAccepted.setLabour(labourOpt.get());
-        workAccepted.setAcceptedAt(LocalDateTime.now());
-        workAccepted.setStatus(WorkAcceptedStatus.ACCEPTED);
-
-        WorkAccepted savedWorkAccepted = workAcceptedRepository.save(workAccepted);
-
-        work.setStatus(WorkStatus.ACCEPTED);
-        workRepository.save(work);
-
-        return ResponseEntity.ok(savedWorkAccepted);
+      @PostMapping("/labour/accept-work")
+    public ResponseEntity<?> acceptWork(@RequestParam("labourId") Long labourId, @RequestParam("workId") Long workId) {
+        try {
+            return ResponseEntity.ok(labourService.acceptWork(labourId, workId));
+        } catch (WorkConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,31 @@
+package com.LabourLine.LabourLine.dto;
+
+import java.time.LocalDateTime;
+
+import com.LabourLine.LabourLine.entity.type.WorkAcceptedStatus;
+import com.LabourLine.LabourLine.entity.type.WorkStatus;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+// A WorkAccepted row shaped the way the work-status screens read it: { id, work: {...}, labour: {...}, status }
+public record ActiveWorkView(
+        Long id,
+        WorkSummaryView work,
+        PersonView labour,
+        LocalDateTime acceptedAt,
+        WorkAcceptedStatus status,
+        // The labourer's LabourDetails id: what live locations are keyed by. Server-side only.
+        @JsonIgnore Long labourProfileId) {
+
+    public ActiveWorkView(Long id,
+            Long workId, String title, String description, Double budget, String location,
+            Double latitude, Double longitude, WorkStatus workStatus,
+            Long employerId, String employerName, String employerPhoneNo,
+            Long labourId, String labourName, String labourPhoneNo, Long labourProfileId,
+            LocalDateTime acceptedAt, WorkAcceptedStatus status) {
+        this(id,
+                new WorkSummaryView(workId, title, description, budget, location, latitude, longitude, workStatus,
+                        employerId, employerName, employerPhoneNo),
+                PersonView.ofNullable(labourId, labourName, labourPhoneNo),
+                acceptedAt, status, labourProfileId);
+    }
+}
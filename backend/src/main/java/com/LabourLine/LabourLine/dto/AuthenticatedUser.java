@@ -0,0 +1,8 @@
+package com.LabourLine.LabourLine.dto;
+
+import com.LabourLine.LabourLine.entity.type.Role;
+
+// What JwtFilter puts in the SecurityContext. Deliberately not the User entity, so
+// authenticating a request never drags in the labour / employer profiles.
+public record AuthenticatedUser(Long id, String phoneNo, Role role) {
+}
@@ -0,0 +1,7 @@
+package com.LabourLine.LabourLine.dto;
+
+import com.LabourLine.LabourLine.entity.type.WorkStatus;
+
+// What placing a bid needs to know about a job: one narrow row, no Work or employer User loaded
+public record BidTargetView(Long id, boolean isBiddingAllowed, WorkStatus status, Long employerId) {
+}
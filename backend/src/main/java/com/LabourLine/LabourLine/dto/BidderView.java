@@ -0,0 +1,7 @@
+package com.LabourLine.LabourLine.dto;
+
+// A labourer's profile id and name, all a new bid needs from the bidder
+public interface BidderView {
+    Long getId();
+    String getName();
+}
@@ -0,0 +1,30 @@
+package com.LabourLine.LabourLine.dto;
+
+import com.LabourLine.LabourLine.entity.type.WorkStatus;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// Row for the employer's "You Posted" list: the job plus whoever was hired for it
+public record EmployerWorkView(
+        Long id,
+        String title,
+        String description,
+        String skillsRequired,
+        Double budget,
+        @JsonProperty("isBiddingAllowed") boolean isBiddingAllowed,
+        String location,
+        Double latitude,
+        Double longitude,
+        String image,
+        String thumbnailUrl,
+        String audioUrl,
+        WorkStatus status,
+        PersonView acceptedLabour) {
+
+    public EmployerWorkView(Long id, String title, String description, String skillsRequired, Double budget,
+            boolean isBiddingAllowed, String location, Double latitude, Double longitude, String image,
+            String thumbnailUrl, String audioUrl, WorkStatus status, Long labourId, String labourName,
+            String labourPhoneNo) {
+        this(id, title, description, skillsRequired, budget, isBiddingAllowed, location, latitude, longitude,
+                image, thumbnailUrl, audioUrl, status, PersonView.ofNullable(labourId, labourName, labourPhoneNo));
+    }
+}
@@ -0,0 +1,11 @@
+package com.LabourLine.LabourLine.dto;
+
+import java.time.LocalDateTime;
+
+// A labour_location row without the LabourDetails / User it points at
+public interface LabourLocationView {
+    Long getLabourId();
+    Double getLastLatitude();
+    Double getLastLongitude();
+    LocalDateTime getLastUpdated();
+}
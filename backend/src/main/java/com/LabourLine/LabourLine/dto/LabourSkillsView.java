@@ -0,0 +1,8 @@
+package com.LabourLine.LabourLine.dto;
+
+// A labourer's profile id, name and skills, without the rest of the profile
+public interface LabourSkillsView {
+    Long getId();
+    String getName();
+    String getSkills();
+}
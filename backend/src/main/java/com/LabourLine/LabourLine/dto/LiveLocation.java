@@ -0,0 +1,7 @@
+package com.LabourLine.LabourLine.dto;
+
+import java.time.LocalDateTime;
+
+// Latest known position of a labourer. Same JSON field names as the LabourLocation entity.
+public record LiveLocation(Long labourId, double lastLatitude, double lastLongitude, LocalDateTime lastUpdated) {
+}
@@ -0,0 +1,14 @@
+package com.LabourLine.LabourLine.dto;
+
+import com.fasterxml.jackson.annotation.JsonAlias;
+
+import lombok.Data;
+
+@Data
+public class LocationUpdateRequest {
+    private Long labourId; // Optional; the caller's User id if sent
+    @JsonAlias("lastLatitude")
+    private Double latitude;
+    @JsonAlias("lastLongitude")
+    private Double longitude;
+}
@@ -0,0 +1,7 @@
+package com.LabourLine.LabourLine.dto;
+
+import java.time.LocalDateTime;
+
+// One hit of the employer's nearest-labourer search. No phone number: that's only shared once hired.
+public record NearbyLabourer(Long labourId, String name, double distanceKm, LocalDateTime lastUpdated) {
+}
@@ -0,0 +1,24 @@
+package com.LabourLine.LabourLine.dto;
+
+import com.LabourLine.LabourLine.entity.type.WorkStatus;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// Job card / map pin row for the open-work feed. Built straight from a JPQL constructor expression
+// (see WorkRepository) so no User or Bid rows are loaded.
+public record OpenWorkView(
+        Long id,
+        String title,
+        String description,
+        String skillsRequired,
+        Double budget,
+        @JsonProperty("isBiddingAllowed") boolean isBiddingAllowed,
+        String location,
+        Double latitude,
+        Double longitude,
+        String image,
+        String thumbnailUrl,
+        String audioUrl,
+        WorkStatus status,
+        Long employerId,
+        String employerName) {
+}
@@ -0,0 +1,10 @@
+package com.LabourLine.LabourLine.dto;
+
+// The bits of a User other people are allowed to see
+public record PersonView(Long id, String name, String phoneNo) {
+
+    // LEFT JOINs hand us all-null columns when there is nobody on the other side
+    public static PersonView ofNullable(Long id, String name, String phoneNo) {
+        return id == null ? null : new PersonView(id, name, phoneNo);
+    }
+}
@@ -0,0 +1,5 @@
+package com.LabourLine.LabourLine.dto;
+
+// One entry of /labour/recommended-work: the job card plus why it ranked where it did
+public record RecommendedWork(OpenWorkView work, double distanceKm, double score) {
+}
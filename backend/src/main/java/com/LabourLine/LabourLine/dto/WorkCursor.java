@@ -0,0 +1,57 @@
+package com.LabourLine.LabourLine.dto;
+
+// Keyset cursor for work feeds. Sent back to clients in the X-Next-Cursor header.
+//   "<id>"            - feeds ordered newest first (id descending)
+//   "<distance>:<id>" - feeds ordered by distance, ties broken by id
+public record WorkCursor(Double distanceKm, Long id) {
+
+    public static final String HEADER = "X-Next-Cursor";
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    public static WorkCursor byId(Long id) {
+        return new WorkCursor(null, id);
+    }
+
+    public static WorkCursor byDistance(double distanceKm, long id) {
+        return new WorkCursor(distanceKm, id);
+    }
+
+    public static int pageSize(Integer requested) {
+        return pageSize(requested, DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE);
+    }
+
+    // The client's ?limit= for any list endpoint: the default when missing or not positive, capped at max
+    public static int pageSize(Integer requested, int defaultSize, int maxSize) {
+        if (requested == null || requested <= 0) {
+            return defaultSize;
+        }
+        return Math.min(requested, maxSize);
+    }
+
+    public static WorkCursor parse(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            int separator = value.indexOf(':');
+            if (separator < 0) {
+                return byId(Long.parseLong(value));
+            }
+            return byDistance(Double.parseDouble(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + value);
+        }
+    }
+
+    // True if a row at (distanceKm, id) comes after this cursor in distance order
+    public boolean isBefore(double otherDistanceKm, long otherId) {
+        int cmp = Double.compare(distanceKm, otherDistanceKm);
+        return cmp < 0 || (cmp == 0 && id < otherId);
+    }
+
+    public String encode() {
+        return distanceKm == null ? String.valueOf(id) : distanceKm + ":" + id;
+    }
+}
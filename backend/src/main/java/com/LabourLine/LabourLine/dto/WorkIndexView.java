@@ -0,0 +1,10 @@
+package com.LabourLine.LabourLine.dto;
+
+import java.time.LocalDateTime;
+
+// What OpenWorkIndex keeps per OPEN job: position, the skills it asks for, and what recommendations rank on
+public interface WorkIndexView extends WorkLocationView {
+    String getSkillsRequired();
+    Double getBudget();
+    LocalDateTime getCreatedAt();
+}
@@ -0,0 +1,8 @@
+package com.LabourLine.LabourLine.dto;
+
+// Just enough of a Work row to run a distance check on it
+public interface WorkLocationView {
+    Long getId();
+    Double getLatitude();
+    Double getLongitude();
+}
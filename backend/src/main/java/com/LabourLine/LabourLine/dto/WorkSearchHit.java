@@ -0,0 +1,7 @@
+package com.LabourLine.LabourLine.dto;
+
+// A full-text match: which job, and how well it matched
+public interface WorkSearchHit {
+    Long getId();
+    Float getRank();
+}
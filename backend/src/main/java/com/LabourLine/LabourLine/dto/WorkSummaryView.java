@@ -0,0 +1,23 @@
+package com.LabourLine.LabourLine.dto;
+
+import com.LabourLine.LabourLine.entity.type.WorkStatus;
+
+// What the work-status screens render about a job, including how to reach the employer
+public record WorkSummaryView(
+        Long id,
+        String title,
+        String description,
+        Double budget,
+        String location,
+        Double latitude,
+        Double longitude,
+        WorkStatus status,
+        PersonView employer) {
+
+    public WorkSummaryView(Long id, String title, String description, Double budget, String location,
+            Double latitude, Double longitude, WorkStatus status,
+            Long employerId, String employerName, String employerPhoneNo) {
+        this(id, title, description, budget, location, latitude, longitude, status,
+                PersonView.ofNullable(employerId, employerName, employerPhoneNo));
+    }
+}
@@ -0,0 +1,52 @@
+package com.LabourLine.LabourLine.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+import com.LabourLine.LabourLine.service.WorkEvent;
+
+// A WorkEvent waiting to be delivered. Written in the same transaction as the change it describes,
+// then drained by OutboxDispatcher, so events survive a crash between commit and delivery.
+@Entity
+@Data
+@Table(name = "outbox_event", indexes = @Index(name = "idx_outbox_event_pending", columnList = "processed_at, id"))
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private WorkEvent.Type type;
+
+    private Long recipientUserId;
+    private Long workId;
+    private Long bidId;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    // Null until every handler has seen the event (or it was given up on)
+    private LocalDateTime processedAt;
+
+    private int attempts;
+
+    @Column(length = 500)
+    private String lastError;
+
+    public static OutboxEvent of(WorkEvent event) {
+        OutboxEvent row = new OutboxEvent();
+        row.setType(event.type());
+        row.setRecipientUserId(event.recipientUserId());
+        row.setWorkId(event.workId());
+        row.setBidId(event.bidId());
+        row.setCreatedAt(LocalDateTime.now());
+        return row;
+    }
+
+    public WorkEvent toEvent() {
+        return new WorkEvent(type, recipientUserId, workId, bidId);
+    }
+}
@@ -1,12 +1,17 @@
 package com.LabourLine.LabourLine.entity;
 import com.LabourLine.LabourLine.entity.type.Role;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.ToString;
 
 @Entity
 @Data
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "users") // "user" is a reserved keyword in some SQL DBs
 public class User {
 
@@ -7,11 +7,15 @@ import jakarta.persistence.*;
 import lombok.Data;
 import lombok.ToString;
 
+import java.time.LocalDateTime;
 import java.util.List; // IMPORT THIS!
 
 @Entity
 @Data 
-@Table(name = "work")
+@Table(name = "work", indexes = {
+    // Serves the bounding-box prefilter in WorkRepository.findLocationsInBox
+    @Index(name = "idx_work_status_lat_lng", columnList = "status, latitude, longitude")
+})
 public class Work {
 
     @Id
@@ -41,6 +45,8 @@ public class Work {
     private Double longitude; // e.g., 73.8567
     private String image; 
     private String audioUrl;
+    // Small JPEG of 'image' for list and map views, filled in by MediaProcessor once it's generated
+    private String thumbnailUrl;
 
     // --- CRITICAL ADDITION FOR BIDDING ---
     @JsonProperty("isBiddingAllowed")
@@ -51,6 +57,10 @@ public class Work {
     @Enumerated(EnumType.STRING)
     private WorkStatus status = WorkStatus.OPEN; // FIX: Use Enum constant, not String
 
+    // When the job was posted; null for jobs posted before this column existed
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
     @OneToMany(mappedBy = "work", cascade = CascadeType.ALL, orphanRemoval = true)
     @ToString.Exclude
     private List<Bid> bids;
@@ -58,4 +68,9 @@ public class Work {
     @ManyToOne
     @JoinColumn(name = "accepted_labour_id") // This column will store the winner's User ID
     private User acceptedLabour;
+
+    // Optimistic lock. The default lets ddl-auto add the column to existing rows.
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version = 0L;
 }
\ No newline at end of file
@@ -1,13 +1,49 @@
 package com.LabourLine.LabourLine.repository;
 
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.LabourLine.LabourLine.dto.OpenWorkView;
 import com.LabourLine.LabourLine.entity.Bid;
+import com.LabourLine.LabourLine.service.BidResponseDto;
 
 public interface BidRepository extends JpaRepository<Bid, Long>{
 
     List<Bid> findByLabourIdAndStatus(Long workerId, String string);
 
+    // All bids on a job with the bidder's name, in a single query (no per-bid LabourDetails/User loads)
+    @Query("SELECT new com.LabourLine.LabourLine.service.BidResponseDto("
+            + "b.id, b.bidAmount, b.comment, u.name, l.id, b.status) "
+            + "FROM Bid b JOIN b.labour l LEFT JOIN l.user u "
+            + "WHERE b.work.id = :workId ORDER BY b.id")
+    List<BidResponseDto> findResponsesByWorkId(@Param("workId") Long workId);
+
+    // Jobs this user (by User id, as carried in the JWT) has won through bidding, latest first
+    @Query("SELECT new com.LabourLine.LabourLine.dto.OpenWorkView("
+            + "w.id, w.title, w.description, w.skillsRequired, w.budget, w.isBiddingAllowed, w.location, "
+            + "w.latitude, w.longitude, w.image, w.thumbnailUrl, w.audioUrl, w.status, e.id, e.name) "
+            + "FROM Bid b JOIN b.work w JOIN w.employer e "
+            + "WHERE b.labour.user.id = :userId AND b.status = :status ORDER BY b.id DESC")
+    List<OpenWorkView> findWorkViewsByLabourUserIdAndStatus(@Param("userId") Long userId,
+            @Param("status") String status, Limit limit);
+
+    // User ids of everyone whose bid is about to be rejected by rejectOtherBids
+    @Query("SELECT l.user.id FROM Bid b JOIN b.labour l "
+            + "WHERE b.work.id = :workId AND b.id <> :bidId AND b.status = 'PENDING'")
+    List<Long> findOtherPendingBidderUserIds(@Param("workId") Long workId, @Param("bidId") Long bidId);
+
+    // Price agreed for a job hired through bidding
+    @Query("SELECT b.bidAmount FROM Bid b WHERE b.work.id = :workId AND b.status = 'ACCEPTED'")
+    Optional<Double> findAcceptedAmountByWorkId(@Param("workId") Long workId);
+
+    // One statement for every losing bid instead of a save() per row
+    @Modifying
+    @Query("UPDATE Bid b SET b.status = 'REJECTED' WHERE b.work.id = :workId AND b.id <> :bidId")
+    int rejectOtherBids(@Param("workId") Long workId, @Param("bidId") Long bidId);
 }
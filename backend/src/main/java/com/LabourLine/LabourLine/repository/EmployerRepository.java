@@ -1,11 +1,39 @@
 package com.LabourLine.LabourLine.repository;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.LabourLine.LabourLine.entity.EmployerDetails;
 
+import jakarta.persistence.QueryHint;
+import jakarta.transaction.Transactional;
+
 @Repository
 public interface EmployerRepository extends JpaRepository<EmployerDetails, Long>{
-    
+
+    // Relative update, so concurrent completions for one employer can't overwrite each other
+    // (it empties the EmployerDetails L2 region, as LabourRepository.recordCompletedJob does for labourers)
+    @Modifying
+    @Transactional
+    @Query("UPDATE EmployerDetails e SET e.totalSpending = coalesce(e.totalSpending, 0) + :amount "
+            + "WHERE e.user.id = :userId")
+    int recordSpending(@Param("userId") Long userId, @Param("amount") double amount);
+
+    // Resets total spending from the completed jobs wherever it disagrees; returns the rows repaired.
+    // Declares its table so only the EmployerDetails region is invalidated.
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "employer_details"))
+    @Query(value = "UPDATE employer_details e SET total_spending = coalesce(s.total_spending, 0) "
+            + "FROM employer_details c LEFT JOIN (SELECT employer_user_id, sum(price) AS total_spending "
+            + "FROM (" + WorkAcceptedRepository.COMPLETED_JOB_PRICES + ") p GROUP BY employer_user_id) s "
+            + "ON s.employer_user_id = c.user_id "
+            + "WHERE e.id = c.id AND abs(coalesce(e.total_spending, 0) - coalesce(s.total_spending, 0)) > 0.005",
+            nativeQuery = true)
+    int reconcileSpending();
 }
@@ -1,10 +1,15 @@
 package com.LabourLine.LabourLine.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import com.LabourLine.LabourLine.dto.LabourLocationView;
 import com.LabourLine.LabourLine.entity.LabourLocation;
 
 @Repository
 public interface LabourLocationRepository extends JpaRepository<LabourLocation, Long> {
+    List<LabourLocationView> findByLastUpdatedAfter(LocalDateTime since);
 }
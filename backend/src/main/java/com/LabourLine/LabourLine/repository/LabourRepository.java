@@ -1,12 +1,21 @@
 package com.LabourLine.LabourLine.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.LabourLine.LabourLine.dto.BidderView;
+import com.LabourLine.LabourLine.dto.LabourSkillsView;
 import com.LabourLine.LabourLine.entity.LabourDetails;
 
+import jakarta.persistence.QueryHint;
 import jakarta.transaction.Transactional;
 @Modifying 
     @Transactional
@@ -14,4 +23,44 @@ import jakarta.transaction.Transactional;
 public interface LabourRepository extends JpaRepository<LabourDetails, Long>{
     @Query("UPDATE LabourDetails l SET l.skills = :skills WHERE l.user.id = :userId")
     int updateSkillsByUserId(@Param("userId") Long userId, @Param("skills") String skills);
+
+    // Relative update: concurrent completions for one labourer can't overwrite each other. As a bulk
+    // update it empties the whole LabourDetails L2 region, not just this labourer's entry; at one
+    // completion per job that is cheaper than giving up the relative update.
+    // (Spring's @Modifying spelled out: the bare name in this package is a different annotation.)
+    @org.springframework.data.jpa.repository.Modifying
+    @Query("UPDATE LabourDetails l SET l.jobsDone = coalesce(l.jobsDone, 0) + 1, "
+            + "l.totalEarnings = coalesce(l.totalEarnings, 0) + :amount WHERE l.user.id = :userId")
+    int recordCompletedJob(@Param("userId") Long userId, @Param("amount") double amount);
+
+    // Resets jobs done / earnings from the completed jobs wherever they disagree; returns the rows repaired.
+    // Declares the table it writes, or Hibernate would empty every cache region after a native update.
+    @org.springframework.data.jpa.repository.Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "labour_details"))
+    @Query(value = "UPDATE labour_details l "
+            + "SET jobs_done = coalesce(s.jobs_done, 0), total_earnings = coalesce(s.total_earnings, 0) "
+            + "FROM labour_details c LEFT JOIN (SELECT labour_user_id, count(*) AS jobs_done, sum(price) AS total_earnings "
+            + "FROM (" + WorkAcceptedRepository.COMPLETED_JOB_PRICES + ") p GROUP BY labour_user_id) s "
+            + "ON s.labour_user_id = c.user_id "
+            + "WHERE l.id = c.id AND (coalesce(l.jobs_done, -1) <> coalesce(s.jobs_done, 0) "
+            + "OR abs(coalesce(l.total_earnings, 0) - coalesce(s.total_earnings, 0)) > 0.005)",
+            nativeQuery = true)
+    int reconcileJobStats();
+
+    @Query("SELECT l.id FROM LabourDetails l WHERE l.user.id = :userId")
+    Optional<Long> findIdByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT l.id AS id, u.name AS name FROM LabourDetails l JOIN l.user u WHERE u.id = :userId")
+    Optional<BidderView> findBidderByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT l.id AS id, u.name AS name, l.skills AS skills FROM LabourDetails l JOIN l.user u "
+            + "WHERE u.id = :userId")
+    Optional<LabourSkillsView> findSkillViewByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT l.id AS id, u.name AS name, l.skills AS skills FROM LabourDetails l JOIN l.user u")
+    List<LabourSkillsView> findSkillViews();
+
+    @Query("SELECT l.id AS id, u.name AS name, l.skills AS skills FROM LabourDetails l JOIN l.user u "
+            + "WHERE l.id IN :ids")
+    List<LabourSkillsView> findSkillViewsByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -2,10 +2,31 @@ package com.LabourLine.LabourLine.repository;
 
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import com.LabourLine.LabourLine.dto.AuthenticatedUser;
 import com.LabourLine.LabourLine.entity.User;
 
+import jakarta.persistence.QueryHint;
+import jakarta.transaction.Transactional;
+
 public interface UserRepository extends JpaRepository<User, Long> {
+    // Login and registration look users up by phone; the result is kept in the query cache
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByPhoneNo(String phoneNo);
+
+    // Just the columns the security principal needs, without loading the labour / employer profiles
+    @Query("SELECT new com.LabourLine.LabourLine.dto.AuthenticatedUser(u.id, u.phoneNo, u.role) "
+            + "FROM User u WHERE u.phoneNo = :phoneNo")
+    Optional<AuthenticatedUser> findPrincipalByPhoneNo(@Param("phoneNo") String phoneNo);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :password WHERE u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
 }
@@ -4,10 +4,34 @@ package com.LabourLine.LabourLine.repository;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.LabourLine.LabourLine.dto.ActiveWorkView;
 import com.LabourLine.LabourLine.entity.WorkAccepted;
 import com.LabourLine.LabourLine.entity.type.WorkAcceptedStatus;
 
 public interface WorkAcceptedRepository extends JpaRepository<WorkAccepted, Long> {
     Optional<WorkAccepted> findByLabourIdAndStatus(Long labourId, WorkAcceptedStatus status);
     Optional<WorkAccepted> findByWorkId(Long workId);
+
+    // Every completed job with who did it, who paid and the agreed price (accepted bid, else the budget).
+    // The source of truth the profile totals are reconciled against (see ProfileStats).
+    String COMPLETED_JOB_PRICES = "SELECT wa.labour_id AS labour_user_id, w.employer_id AS employer_user_id, "
+            + "coalesce(b.bid_amount, w.budget, 0) AS price "
+            + "FROM work_accepted wa JOIN work w ON w.id = wa.work_id "
+            + "LEFT JOIN bids b ON b.work_id = w.id AND b.status = 'ACCEPTED' "
+            + "WHERE wa.status = 'COMPLETED'";
+
+    String ACTIVE_WORK_VIEW = "SELECT new com.LabourLine.LabourLine.dto.ActiveWorkView("
+            + "wa.id, w.id, w.title, w.description, w.budget, w.location, w.latitude, w.longitude, w.status, "
+            + "e.id, e.name, e.phoneNo, l.id, l.name, l.phoneNo, ld.id, wa.acceptedAt, wa.status) "
+            + "FROM WorkAccepted wa JOIN wa.work w JOIN w.employer e JOIN wa.labour l LEFT JOIN l.labourDetails ld ";
+
+    @Query(ACTIVE_WORK_VIEW + "WHERE l.id = :labourId AND wa.status = :status")
+    Optional<ActiveWorkView> findViewByLabourIdAndStatus(@Param("labourId") Long labourId,
+            @Param("status") WorkAcceptedStatus status);
+
+    @Query(ACTIVE_WORK_VIEW + "WHERE w.id = :workId")
+    Optional<ActiveWorkView> findViewByWorkId(@Param("workId") Long workId);
 }
\ No newline at end of file
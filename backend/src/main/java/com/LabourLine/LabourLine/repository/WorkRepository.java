@@ -1,12 +1,123 @@
 package com.LabourLine.LabourLine.repository;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.LabourLine.LabourLine.dto.BidTargetView;
+import com.LabourLine.LabourLine.dto.EmployerWorkView;
+import com.LabourLine.LabourLine.dto.OpenWorkView;
+import com.LabourLine.LabourLine.dto.WorkIndexView;
+import com.LabourLine.LabourLine.dto.WorkLocationView;
+import com.LabourLine.LabourLine.dto.WorkSearchHit;
+import com.LabourLine.LabourLine.dto.WorkSummaryView;
+import com.LabourLine.LabourLine.entity.User;
 import com.LabourLine.LabourLine.entity.Work;
 import com.LabourLine.LabourLine.entity.type.WorkStatus;
 
+import jakarta.transaction.Transactional;
+
 public interface WorkRepository extends JpaRepository<Work, Long> {
 
+    String OPEN_WORK_VIEW = "SELECT new com.LabourLine.LabourLine.dto.OpenWorkView("
+            + "w.id, w.title, w.description, w.skillsRequired, w.budget, w.isBiddingAllowed, w.location, "
+            + "w.latitude, w.longitude, w.image, w.thumbnailUrl, w.audioUrl, w.status, e.id, e.name) "
+            + "FROM Work w JOIN w.employer e ";
+
+    String EMPLOYER_WORK_VIEW = "SELECT new com.LabourLine.LabourLine.dto.EmployerWorkView("
+            + "w.id, w.title, w.description, w.skillsRequired, w.budget, w.isBiddingAllowed, w.location, "
+            + "w.latitude, w.longitude, w.image, w.thumbnailUrl, w.audioUrl, w.status, a.id, a.name, a.phoneNo) "
+            + "FROM Work w LEFT JOIN w.acceptedLabour a ";
+
+    // Full-text document of a job: title words rank above description words. Must stay identical to the
+    // expression of idx_work_open_fts (see WorkTextSearchInitializer) or Postgres won't use the index.
+    String SEARCH_DOCUMENT = "(setweight(to_tsvector('simple', coalesce(title, '')), 'A') "
+            + "|| setweight(to_tsvector('simple', coalesce(description, '')), 'B'))";
+
     List<Work> findByStatus(WorkStatus status);
-    List<Work> findByEmployerId(Long employerId);
-} 
+
+    @Query("SELECT w.id AS id, w.latitude AS latitude, w.longitude AS longitude, "
+            + "w.skillsRequired AS skillsRequired, w.budget AS budget, w.createdAt AS createdAt "
+            + "FROM Work w WHERE w.status = :status")
+    List<WorkIndexView> findIndexEntriesByStatus(@Param("status") WorkStatus status);
+
+    @Query("SELECT w.id AS id, w.latitude AS latitude, w.longitude AS longitude, "
+            + "w.skillsRequired AS skillsRequired, w.budget AS budget, w.createdAt AS createdAt "
+            + "FROM Work w WHERE w.id = :id")
+    Optional<WorkIndexView> findIndexEntryById(@Param("id") Long id);
+
+    // Checked on every bid; w.employer.id is the FK column, so no join
+    @Query("SELECT new com.LabourLine.LabourLine.dto.BidTargetView(w.id, w.isBiddingAllowed, w.status, w.employer.id) "
+            + "FROM Work w WHERE w.id = :id")
+    Optional<BidTargetView> findBidTargetById(@Param("id") Long id);
+
+    // Newest first; the open-work feed pages over this in memory (see OpenWorkSnapshot)
+    @Query(OPEN_WORK_VIEW + "WHERE w.status = :status ORDER BY w.id DESC")
+    List<OpenWorkView> findOpenViewsByStatus(@Param("status") WorkStatus status, Limit limit);
+
+    @Query(OPEN_WORK_VIEW + "WHERE w.id IN :ids")
+    List<OpenWorkView> findOpenViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Keyset pages, newest first: pass the last id of the previous page to get the next one
+    @Query(EMPLOYER_WORK_VIEW + "WHERE w.employer.id = :employerId ORDER BY w.id DESC")
+    List<EmployerWorkView> findEmployerViews(@Param("employerId") Long employerId, Limit limit);
+
+    @Query(EMPLOYER_WORK_VIEW + "WHERE w.employer.id = :employerId AND w.id < :afterId ORDER BY w.id DESC")
+    List<EmployerWorkView> findEmployerViewsAfter(@Param("employerId") Long employerId,
+            @Param("afterId") Long afterId, Limit limit);
+
+    @Query("SELECT new com.LabourLine.LabourLine.dto.WorkSummaryView("
+            + "w.id, w.title, w.description, w.budget, w.location, w.latitude, w.longitude, w.status, "
+            + "e.id, e.name, e.phoneNo) "
+            + "FROM Work w JOIN w.employer e WHERE w.id = :id")
+    Optional<WorkSummaryView> findSummaryById(@Param("id") Long id);
+
+    // Bounding-box prefilter, served by idx_work_status_lat_lng. Callers still need an exact distance check
+    // because the box corners lie outside the circle.
+    @Query("SELECT w.id AS id, w.latitude AS latitude, w.longitude AS longitude FROM Work w "
+            + "WHERE w.status = :status "
+            + "AND w.latitude BETWEEN :minLat AND :maxLat "
+            + "AND w.longitude BETWEEN :minLng AND :maxLng")
+    List<WorkLocationView> findLocationsInBox(@Param("status") WorkStatus status,
+            @Param("minLat") double minLat, @Param("maxLat") double maxLat,
+            @Param("minLng") double minLng, @Param("maxLng") double maxLng);
+
+    // Exact radius search using PostgreSQL's earthdistance extension (see GeoSearchSchemaInitializer)
+    @Query(value = "SELECT w.id AS id, w.latitude AS latitude, w.longitude AS longitude FROM work w "
+            + "WHERE w.status = 'OPEN' "
+            + "AND earth_box(ll_to_earth(:lat, :lng), :radiusMeters) @> ll_to_earth(w.latitude, w.longitude) "
+            + "AND earth_distance(ll_to_earth(:lat, :lng), ll_to_earth(w.latitude, w.longitude)) <= :radiusMeters",
+            nativeQuery = true)
+    List<WorkLocationView> findOpenLocationsWithinDistance(@Param("lat") double lat, @Param("lng") double lng,
+            @Param("radiusMeters") double radiusMeters);
+
+    // OPEN jobs matching a tsquery (see WorkTextSearchService.toPrefixQuery), best match first
+    @Query(value = "SELECT id AS id, ts_rank(" + SEARCH_DOCUMENT + ", to_tsquery('simple', :query)) AS rank "
+            + "FROM work WHERE status = 'OPEN' AND " + SEARCH_DOCUMENT + " @@ to_tsquery('simple', :query) "
+            + "ORDER BY rank DESC, id DESC LIMIT :limit",
+            nativeQuery = true)
+    List<WorkSearchHit> searchOpen(@Param("query") String query, @Param("limit") int limit);
+
+    // Compare-and-set: only one caller can move a job out of OPEN, however many race for it
+    @Modifying
+    @Transactional
+    @Query("UPDATE Work w SET w.status = :accepted, w.acceptedLabour = :labour, w.version = w.version + 1 "
+            + "WHERE w.id = :workId AND w.status = :open")
+    int compareAndAssign(@Param("workId") Long workId, @Param("labour") User labour,
+            @Param("open") WorkStatus open, @Param("accepted") WorkStatus accepted);
+
+    // Jobs may be posted before or after their photo's thumbnail is ready; this catches the "before" case
+    @Modifying
+    @Transactional
+    @Query("UPDATE Work w SET w.thumbnailUrl = :thumbnailUrl WHERE w.image = :image AND w.thumbnailUrl IS NULL")
+    int setThumbnailForImage(@Param("image") String image, @Param("thumbnailUrl") String thumbnailUrl);
+
+    default boolean assignIfOpen(Long workId, User labour) {
+        return compareAndAssign(workId, labour, WorkStatus.OPEN, WorkStatus.ACCEPTED) == 1;
+    }
+}
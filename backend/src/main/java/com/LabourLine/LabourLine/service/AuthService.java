@@ -2,10 +2,13 @@ package com.LabourLine.LabourLine.service;
 
 
 
+import java.util.concurrent.CompletableFuture;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import com.LabourLine.LabourLine.config.PrincipalCache;
 import com.LabourLine.LabourLine.dto.AuthResponse;
 import com.LabourLine.LabourLine.dto.LoginRequestDto;
 import com.LabourLine.LabourLine.dto.RegisterRequest;
@@ -34,6 +37,15 @@ public class AuthService {
     
     @Autowired
     private PasswordEncoder  passwordEncoder;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private PasswordHashExecutor passwordHashExecutor;
+
+    @Autowired
+    private ProfileCache profileCache;
     private JwtUtils jwtUtils;
 
       @Autowired
@@ -55,30 +67,43 @@ public AuthResponse register(RegisterRequest req) { // Change return type
     user.setPassword(passwordEncoder.encode(req.password));
     
     User savedUser = userRepo.saveAndFlush(user);
+    principalCache.invalidateUser(savedUser.getId());
 
+    Long labourDetailsId = null;
+    Long employerDetailsId = null;
     if (req.role == Role.LABOUR) {
         LabourDetails labour = new LabourDetails();
         labour.setUser(savedUser); 
-        labourRepo.save(labour);
+        labourDetailsId = labourRepo.save(labour).getId();
     } else if (req.role == Role.EMPLOYER) {
         EmployerDetails employer = new EmployerDetails();
         employer.setUser(savedUser); 
-        employerRepo.save(employer);
+        employerDetailsId = employerRepo.save(employer).getId();
     }
+    // The cached User was stored before its profile existed; drop it so the next read sees both
+    profileCache.evictUserAfterCommit(savedUser.getId(), labourDetailsId, employerDetailsId);
 
     String token = jwtUtils.generateToken(savedUser);
     return new AuthResponse(token, savedUser.getRole().name()); // Return object
 }
 
-    public String login(LoginRequestDto req) {
+    // The hash check runs on the password-hash pool, not the request thread
+    public CompletableFuture<String> login(LoginRequestDto req) {
     User user = userRepo.findByPhoneNo(req.phoneNo)
             .orElseThrow(() -> new RuntimeException("User not found"));
 
-    if (!passwordEncoder.matches(req.password, user.getPassword())) {
-        throw new RuntimeException("Invalid password");
-    }
+    return passwordHashExecutor.submit(() -> {
+        if (!passwordEncoder.matches(req.password, user.getPassword())) {
+            throw new RuntimeException("Invalid password");
+        }
+
+        // Rewrite hashes made with an older encoder or cost factor while we have the plain password
+        if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+            userRepo.updatePassword(user.getId(), passwordEncoder.encode(req.password));
+        }
 
-    return jwtUtils.generateToken(user);
+        return jwtUtils.generateToken(user);
+    });
 }
 
 }
@@ -1,10 +1,13 @@
 
 package com.LabourLine.LabourLine.service;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
-
+@NoArgsConstructor
+@AllArgsConstructor // Used by the constructor expression in BidRepository.findResponsesByWorkId
 public class BidResponseDto {
     private Long id; // Bid ID
     private Double bidAmount;
@@ -1,19 +1,29 @@
 package com.LabourLine.LabourLine.service;
 
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.LabourLine.LabourLine.dto.ActiveWorkView;
 import com.LabourLine.LabourLine.entity.Bid;
+import com.LabourLine.LabourLine.entity.User;
 import com.LabourLine.LabourLine.entity.Work;
+import com.LabourLine.LabourLine.entity.WorkAccepted;
+import com.LabourLine.LabourLine.entity.type.WorkAcceptedStatus;
 import com.LabourLine.LabourLine.entity.type.WorkStatus;
 import com.LabourLine.LabourLine.repository.BidRepository;
+import com.LabourLine.LabourLine.repository.WorkAcceptedRepository;
 import com.LabourLine.LabourLine.repository.WorkRepository;
 
+import jakarta.transaction.Transactional;
+
 @Service
 public class EmployerService {
 
@@ -21,62 +31,69 @@ public class EmployerService {
     private BidRepository bidRepository;
     @Autowired
     private WorkRepository workRepository;
+    @Autowired
+    private WorkAcceptedRepository workAcceptedRepository;
+    @Autowired
+    private OpenWorkIndex openWorkIndex;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private LiveLocationStore liveLocationStore;
+    @Autowired
+    private LiveTrackingHub liveTrackingHub;
+    @Autowired
+    private ProfileStats profileStats;
 
     // 1. GET ALL BIDS FOR A JOB
     public List<BidResponseDto> getBidsForWork(Long workId) {
-        Work work = workRepository.findById(workId)
-                .orElseThrow(() -> new RuntimeException("Work not found"));
+        if (!workRepository.existsById(workId)) {
+            throw new RuntimeException("Work not found");
+        }
 
-        return work.getBids().stream().map(bid -> {
-            BidResponseDto dto = new BidResponseDto();
-            dto.setId(bid.getId());
-            dto.setBidAmount(bid.getBidAmount());
-            dto.setComment(bid.getComment());
-            dto.setStatus(bid.getStatus());
-            
-            // Map Worker Details
-            if (bid.getLabour() != null) {
-                dto.setWorkerName(bid.getLabour().getUser().getName()); 
-                dto.setWorkerId(bid.getLabour().getId());
-            }
-            return dto;
-        }).collect(Collectors.toList());
+        return bidRepository.findResponsesByWorkId(workId);
     }
 
     // 2. CONFIRM A SPECIFIC BID
-    // In EmployerService.java
-
-   // Change return type from Work to Map<String, Object>
-  public Map<String, Object> confirmBid(Long bidId) {
+    // Hires the bidder in one transaction: accepts the bid, rejects every other bid with a single
+    // bulk UPDATE, assigns the job and opens the WorkAccepted record the labourer's app polls for.
+    @Transactional
+    public Map<String, Object> confirmBid(Long bidId) {
         // 1. Fetch the Bid
         Bid selectedBid = bidRepository.findById(bidId)
                 .orElseThrow(() -> new RuntimeException("Bid not found"));
 
         Work work = selectedBid.getWork();
-        work.setAcceptedLabour(selectedBid.getLabour().getUser());
-        // 2. Validation: Is the job still open? (Read-only check)
-        if (work.getStatus() != WorkStatus.OPEN) {
-            throw new RuntimeException("Job is already assigned to someone else!");
-        }
+        User labour = selectedBid.getLabour().getUser();
 
-        // --- WORK TABLE UPDATES REMOVED HERE ---
-        // (Delegated to acceptWorkApi as requested)
+        // 2. Claim the job. Atomic, so a parallel accept-work or a second confirm can't also win it.
+        if (!workRepository.assignIfOpen(work.getId(), labour)) {
+            throw new WorkConflictException("Job is already assigned to someone else!");
+        }
 
         // 3. Update the Selected Bid
         selectedBid.setStatus("ACCEPTED");
-        
-        bidRepository.save(selectedBid);
-
-        // 4. Reject all other bids for this job (Cleanup)
-        List<Bid> allBids = work.getBids();
-        for (Bid bid : allBids) {
-            if (!bid.getId().equals(bidId)) {
-                bid.setStatus("REJECTED");
-                bidRepository.save(bid);
-            }
+
+        // 4. Reject all other bids for this job (Cleanup), remembering who to tell
+        List<Long> rejectedBidders = bidRepository.findOtherPendingBidderUserIds(work.getId(), bidId);
+        bidRepository.rejectOtherBids(work.getId(), bidId);
+
+        // 5. Record the assignment
+        WorkAccepted workAccepted = new WorkAccepted();
+        workAccepted.setWork(work);
+        workAccepted.setLabour(labour);
+        workAccepted.setAcceptedAt(LocalDateTime.now());
+        workAccepted.setStatus(WorkAcceptedStatus.ACCEPTED);
+        workAcceptedRepository.save(workAccepted);
+
+        // A worker has been hired, so the job must drop out of the open-work feed
+        openWorkIndex.removeAfterCommit(work.getId());
+
+        eventPublisher.publishEvent(new WorkEvent(WorkEvent.Type.BID_ACCEPTED, labour.getId(), work.getId(), bidId));
+        for (Long bidderId : rejectedBidders) {
+            eventPublisher.publishEvent(WorkEvent.of(WorkEvent.Type.BID_REJECTED, bidderId, work.getId()));
         }
 
-        // 5. BUILD AND RETURN THE CUSTOM BID DATA
+        // 6. BUILD AND RETURN THE CUSTOM BID DATA
         Map<String, Object> bidData = new HashMap<>();
         bidData.put("id", selectedBid.getId()); 
         bidData.put("bidAmount", selectedBid.getBidAmount());
@@ -84,8 +101,53 @@ public class EmployerService {
         bidData.put("workId", work.getId());
         
         // This is the crucial ID your frontend needs for acceptWorkApi
-        bidData.put("labourId", selectedBid.getLabour().getUser().getId()) ;
+        bidData.put("labourId", labour.getId());
 
         return bidData; 
     }
+
+    // 3. MARK A JOB AS DONE
+    // Job status, assignment status, the profile totals and the WORK_COMPLETED outbox row commit together.
+    @Transactional
+    public void completeWork(Long workId, Long employerId) {
+        Work work = workRepository.findById(workId)
+                .orElseThrow(() -> new RuntimeException("Work not found"));
+
+        if (!work.getEmployer().getId().equals(employerId)) {
+            throw new AccessDeniedException("Unauthorized: You are not the employer for this work.");
+        }
+
+        WorkAccepted workAccepted = workAcceptedRepository.findByWorkId(workId)
+                .orElseThrow(() -> new RuntimeException("This work has not been accepted by any labour yet."));
+        if (workAccepted.getStatus() == WorkAcceptedStatus.COMPLETED) {
+            throw new RuntimeException("Work is already completed");
+        }
+
+        work.setStatus(WorkStatus.COMPLETED);
+        workAccepted.setStatus(WorkAcceptedStatus.COMPLETED);
+        profileStats.recordCompletion(work, workAccepted.getLabour().getId());
+
+        eventPublisher.publishEvent(
+                WorkEvent.of(WorkEvent.Type.WORK_COMPLETED, workAccepted.getLabour().getId(), workId));
+    }
+
+    // 4. LIVE-TRACK THE LABOURER ON A JOB
+    public SseEmitter trackWork(Long workId, Long employerId) {
+        ActiveWorkView active = workAcceptedRepository.findViewByWorkId(workId)
+                .orElseThrow(() -> new RuntimeException("This work has not been accepted by any labour yet."));
+
+        if (!active.work().employer().id().equals(employerId)) {
+            throw new AccessDeniedException("You are not the employer for this work.");
+        }
+        if (active.status() == WorkAcceptedStatus.COMPLETED) {
+            throw new RuntimeException("Work is already completed");
+        }
+
+        // Live positions are keyed by the labour profile id, not the User id on the assignment
+        Long labourProfileId = active.labourProfileId();
+        if (labourProfileId == null) {
+            throw new RuntimeException("The assigned labourer has no labour profile to track.");
+        }
+        return liveTrackingHub.subscribe(workId, labourProfileId, liveLocationStore.get(labourProfileId));
+    }
 }
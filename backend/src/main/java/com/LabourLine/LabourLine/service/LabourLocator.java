@@ -0,0 +1,94 @@
+package com.LabourLine.LabourLine.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongPredicate;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.LabourLine.LabourLine.dto.LabourSkillsView;
+import com.LabourLine.LabourLine.dto.LiveLocation;
+import com.LabourLine.LabourLine.dto.NearbyLabourer;
+import com.LabourLine.LabourLine.dto.WorkIndexView;
+import com.LabourLine.LabourLine.repository.LabourRepository;
+import com.LabourLine.LabourLine.repository.WorkRepository;
+import com.LabourLine.LabourLine.utils.GeoGrid;
+import com.LabourLine.LabourLine.utils.LongHashSet;
+import com.LabourLine.LabourLine.utils.SkillIndex;
+
+// Finds the labourers closest to a job, for pushing urgent work to people who can get there.
+// Positions come from LiveLocationStore's grid, skills from an in-memory index by labour profile id.
+@Service
+public class LabourLocator {
+
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 50;
+
+    private final SkillIndex skills = new SkillIndex();
+    private final LiveLocationStore liveLocationStore;
+    private final LabourRepository labourRepository;
+    private final WorkRepository workRepository;
+
+    public LabourLocator(LiveLocationStore liveLocationStore, LabourRepository labourRepository,
+            WorkRepository workRepository) {
+        this.liveLocationStore = liveLocationStore;
+        this.labourRepository = labourRepository;
+        this.workRepository = workRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        skills.clear();
+        for (LabourSkillsView labour : labourRepository.findSkillViews()) {
+            skills.put(labour.getId(), labour.getSkills());
+        }
+    }
+
+    public void updateSkills(Long labourId, String labourSkills) {
+        skills.put(labourId, labourSkills);
+    }
+
+    // skillsOverride replaces the job's own skillsRequired as the filter; blank means no skill filter
+    public List<NearbyLabourer> findNearWork(Long workId, int limit, double radiusKm, Duration maxAge,
+            String skillsOverride) {
+        WorkIndexView work = workRepository.findIndexEntryById(workId)
+                .orElseThrow(() -> new RuntimeException("Work not found"));
+        if (work.getLatitude() == null || work.getLongitude() == null) {
+            throw new RuntimeException("Work has no location");
+        }
+
+        Set<String> tokens = SkillIndex.tokenize(skillsOverride != null ? skillsOverride : work.getSkillsRequired());
+        LongPredicate skillFilter = null;
+        if (!tokens.isEmpty()) {
+            LongHashSet matching = skills.matchingAny(tokens);
+            skillFilter = matching::contains;
+        }
+
+        List<GeoGrid.Hit> hits = liveLocationStore.findNearest(work.getLatitude(), work.getLongitude(), limit,
+                radiusKm, maxAge, skillFilter);
+        if (hits.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, String> names = new HashMap<>();
+        for (LabourSkillsView labour : labourRepository.findSkillViewsByIdIn(
+                hits.stream().map(GeoGrid.Hit::id).collect(Collectors.toList()))) {
+            names.put(labour.getId(), labour.getName());
+        }
+
+        List<NearbyLabourer> result = new ArrayList<>(hits.size());
+        for (GeoGrid.Hit hit : hits) {
+            LiveLocation location = liveLocationStore.get(hit.id());
+            result.add(new NearbyLabourer(hit.id(), names.get(hit.id()), hit.distanceKm(),
+                    location != null ? location.lastUpdated() : null));
+        }
+        return result;
+    }
+}
@@ -1,21 +1,31 @@
 package com.LabourLine.LabourLine.service;
 
 import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
+import com.LabourLine.LabourLine.config.PendingBidIndexInitializer;
+import com.LabourLine.LabourLine.dto.ActiveWorkView;
 import com.LabourLine.LabourLine.dto.BidRequest;
+import com.LabourLine.LabourLine.dto.BidTargetView;
+import com.LabourLine.LabourLine.dto.BidderView;
+import com.LabourLine.LabourLine.dto.LiveLocation;
 import com.LabourLine.LabourLine.entity.Bid;
 import com.LabourLine.LabourLine.entity.LabourDetails;
-import com.LabourLine.LabourLine.entity.LabourLocation;
 import com.LabourLine.LabourLine.entity.User;
 import com.LabourLine.LabourLine.entity.Work;
+import com.LabourLine.LabourLine.entity.WorkAccepted;
+import com.LabourLine.LabourLine.entity.type.WorkAcceptedStatus;
 import com.LabourLine.LabourLine.entity.type.WorkStatus;
 import com.LabourLine.LabourLine.repository.BidRepository;
-import com.LabourLine.LabourLine.repository.LabourLocationRepository;
 import com.LabourLine.LabourLine.repository.LabourRepository;
 import com.LabourLine.LabourLine.repository.UserRepository;
+import com.LabourLine.LabourLine.repository.WorkAcceptedRepository;
 import com.LabourLine.LabourLine.repository.WorkRepository;
 
 import jakarta.transaction.Transactional;
@@ -26,15 +36,29 @@ public class LabourService {
     private final LabourRepository labourRepository;
     private final WorkRepository workRepository;
     private final UserRepository userRepository;
-    private final LabourLocationRepository labourLocationRepository;
+    private final WorkAcceptedRepository workAcceptedRepository;
+    private final OpenWorkIndex openWorkIndex;
+    private final LiveLocationStore liveLocationStore;
 @Autowired
     private BidRepository bidRepository;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private LiveTrackingHub liveTrackingHub;
+    @Autowired
+    private LabourLocator labourLocator;
+    @Autowired
+    private ProfileCache profileCache;
     public LabourService(LabourRepository labourRepository, UserRepository userRepository,
-            LabourLocationRepository labourLocationRepository, WorkRepository workRepository) {
+            WorkRepository workRepository,
+            WorkAcceptedRepository workAcceptedRepository, OpenWorkIndex openWorkIndex,
+            LiveLocationStore liveLocationStore) {
         this.labourRepository = labourRepository;
         this.userRepository = userRepository;
-        this.labourLocationRepository = labourLocationRepository;
         this.workRepository = workRepository;
+        this.workAcceptedRepository = workAcceptedRepository;
+        this.openWorkIndex = openWorkIndex;
+        this.liveLocationStore = liveLocationStore;
     }
 
     @Transactional
@@ -50,70 +74,116 @@ public class LabourService {
         String cleanedSkills = newSkills.replace("\"", "").trim();
         labour.setSkills(cleanedSkills);
 
-        return labourRepository.save(labour);
+        LabourDetails saved = labourRepository.save(labour);
+        labourLocator.updateSkills(saved.getId(), cleanedSkills);
+        profileCache.evictUserAfterCommit(userId, saved.getId(), null);
+        return saved;
+    }
+
+    // Called on every GPS tick with the caller's User id: memory only, the store batches the DB writes
+    public LiveLocation updateCurrentLocation(Long userId, Double lat, Double lng) {
+        if (lat == null || lng == null) {
+            throw new RuntimeException("latitude and longitude are required");
+        }
+        LiveLocation location = liveLocationStore.update(userId, lat, lng);
+        liveTrackingHub.publish(location);
+        return location;
     }
 
     @Transactional
-    public void updateCurrentLocation(Long labourId, Double lat, Double lng) {
-        // 1. Find existing location record or create a new one
-        LabourLocation location = labourLocationRepository.findById(labourId)
-                .orElseGet(() -> {
-                    LabourLocation newLoc = new LabourLocation();
-                    // Link to the main Labour entity
-                    newLoc.setLabour(labourRepository.findById(labourId)
-                            .orElseThrow(() -> new RuntimeException("Labourer not found")));
-                    return newLoc;
-                });
-
-        // 2. Update the dynamic data
-        location.setLastLatitude(lat);
-        location.setLastLongitude(lng);
-        location.setLastUpdated(LocalDateTime.now());
-
-        // 3. Save to database
-        labourLocationRepository.save(location);
+    public ActiveWorkView acceptWork(Long labourId, Long workId) {
+        Work work = workRepository.findById(workId)
+                .orElseThrow(() -> new RuntimeException("Work not found"));
+
+        // Employer hiring flow: confirmBid has already assigned this labourer, so hand back that assignment
+        if (work.getStatus() == WorkStatus.ACCEPTED && work.getAcceptedLabour() != null
+                && work.getAcceptedLabour().getId().equals(labourId)) {
+            Optional<ActiveWorkView> assigned = workAcceptedRepository.findViewByWorkId(workId);
+            if (assigned.isPresent()) {
+                return assigned.get();
+            }
+        }
+
+        if (!userRepository.existsById(labourId)) {
+            throw new RuntimeException("Labour not found");
+        }
+        User labour = userRepository.getReferenceById(labourId);
+
+        // Atomic OPEN -> ACCEPTED: of many labourers tapping accept at once, exactly one gets past here
+        if (!workRepository.assignIfOpen(workId, labour)) {
+            throw new WorkConflictException("This work is already accepted or completed.");
+        }
+
+        WorkAccepted workAccepted = new WorkAccepted();
+        workAccepted.setWork(work);
+        workAccepted.setLabour(labour);
+        workAccepted.setAcceptedAt(LocalDateTime.now());
+        workAccepted.setStatus(WorkAcceptedStatus.ACCEPTED);
+        workAcceptedRepository.save(workAccepted);
+
+        openWorkIndex.removeAfterCommit(workId);
+        eventPublisher.publishEvent(WorkEvent.of(WorkEvent.Type.WORK_ACCEPTED, work.getEmployer().getId(), workId));
+
+        return workAcceptedRepository.findViewByWorkId(workId).orElseThrow();
     }
 
-    public LabourLocation getLabourLocation(Long labourId) {
-        return labourLocationRepository.findById(labourId).orElse(null);
+    public LiveLocation getLabourLocation(Long labourId) {
+        return liveLocationStore.get(labourId);
     }
 
-    // Ensure this is injected
+    // Lean path for bid storms on popular jobs: two narrow lookups, then a single INSERT whose foreign
+    // keys come from reference proxies, so no Work, User or profile entity is loaded. One pending bid
+    // per labourer per job is left to the unique index (see PendingBidIndexInitializer).
+    @Transactional
+    public BidResponseDto placeBid(BidRequest request) {
+        if (request.getBidAmount() == null || request.getBidAmount() <= 0) {
+            throw new RuntimeException("Please enter a bid amount.");
+        }
 
-    public Bid placeBid(BidRequest request) {
-        // 1. Fetch Job
-        Work work = workRepository.findById(request.getWorkId())
+        // 1. Validate the job
+        BidTargetView work = workRepository.findBidTargetById(request.getWorkId())
                 .orElseThrow(() -> new RuntimeException("Job not found"));
-
-        // 2. Validation
         if (!work.isBiddingAllowed()) {
             throw new RuntimeException("This job is Fixed Price only. You cannot bid.");
         }
-        if (work.getStatus() != WorkStatus.OPEN) {
+        if (work.status() != WorkStatus.OPEN) {
             throw new RuntimeException("This job is no longer accepting bids.");
         }
 
-        // 3. Fetch User (using the ID from the DTO)
-        User user = userRepository.findById(request.getLabourId())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        // 4. Extract LabourDetails from the User
-        // Since User has @OneToOne with LabourDetails, we can just get it.
-        LabourDetails labour = user.getLabourDetails();
+        // 2. The bidder's labour profile (the client sends the User id)
+        BidderView bidder = labourRepository.findBidderByUserId(request.getLabourId())
+                .orElseThrow(() -> new RuntimeException(
+                        "This user does not have a Labour Profile. Please complete your profile first."));
 
-        if (labour == null) {
-            throw new RuntimeException("This user does not have a Labour Profile. Please complete your profile first.");
-        }
-
-        // 5. Create and Save Bid
+        // 3. Create and Save Bid
         Bid newBid = new Bid();
-        newBid.setWork(work);
-        newBid.setLabour(labour); // Now passing the correct LabourDetails entity
+        newBid.setWork(workRepository.getReferenceById(work.id()));
+        newBid.setLabour(labourRepository.getReferenceById(bidder.getId()));
         newBid.setBidAmount(request.getBidAmount());
         newBid.setComment(request.getComment());
         newBid.setStatus("PENDING");
 
-        return bidRepository.save(newBid);
+        Bid savedBid;
+        try {
+            savedBid = bidRepository.saveAndFlush(newBid);
+        } catch (DataIntegrityViolationException e) {
+            // Only the pending-bid index means "already bid"; FK, NOT NULL and size errors are real failures
+            if (!violates(e, PendingBidIndexInitializer.INDEX_NAME)) {
+                throw e;
+            }
+            throw new WorkConflictException("You have already placed a bid on this job.");
+        }
+
+        eventPublisher.publishEvent(new WorkEvent(WorkEvent.Type.BID_PLACED, work.employerId(),
+                work.id(), savedBid.getId()));
+        return new BidResponseDto(savedBid.getId(), savedBid.getBidAmount(), savedBid.getComment(),
+                bidder.getName(), bidder.getId(), savedBid.getStatus());
+    }
+
+    // Postgres and H2 both name the violated index in the driver's message (H2 upper-cases it)
+    private static boolean violates(DataIntegrityViolationException e, String indexName) {
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.toLowerCase(Locale.ROOT).contains(indexName);
     }
 
 }
\ No newline at end of file
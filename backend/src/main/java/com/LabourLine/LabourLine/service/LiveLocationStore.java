@@ -0,0 +1,205 @@
+package com.LabourLine.LabourLine.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongPredicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.LabourLine.LabourLine.dto.LabourLocationView;
+import com.LabourLine.LabourLine.dto.LiveLocation;
+import com.LabourLine.LabourLine.entity.LabourLocation;
+import com.LabourLine.LabourLine.repository.LabourLocationRepository;
+import com.LabourLine.LabourLine.repository.LabourRepository;
+import com.LabourLine.LabourLine.utils.GeoGrid;
+
+import jakarta.annotation.PreDestroy;
+
+// Latest GPS position per labourer, held in memory. Every tick overwrites the map entry;
+// the database only sees the newest position per labourer, written in one JDBC batch per interval.
+// Positions are also kept in a grid so employers can find the nearest labourers.
+@Component
+public class LiveLocationStore {
+
+    private static final Logger log = LoggerFactory.getLogger(LiveLocationStore.class);
+
+    private static final String UPSERT = "INSERT INTO labour_location "
+            + "(labour_id, last_latitude, last_longitude, last_updated) VALUES (?, ?, ?, ?) "
+            + "ON CONFLICT (labour_id) DO UPDATE SET "
+            + "last_latitude = EXCLUDED.last_latitude, "
+            + "last_longitude = EXCLUDED.last_longitude, "
+            + "last_updated = EXCLUDED.last_updated";
+
+    private static final int BATCH_SIZE = 500;
+    // Flushes a position may fail before it's dropped; it stays in memory, only the DB copy goes stale
+    private static final int MAX_FLUSH_ATTEMPTS = 5;
+
+    // ~1 km cells: labourers are dense in cities and KNN searches are short-range
+    private static final double CELL_DEGREES = 0.01;
+    // Positions older than this aren't worth loading into the grid at startup
+    private static final Duration WARM_UP_WINDOW = Duration.ofHours(24);
+
+    private final Map<Long, LiveLocation> latest = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    // User id (what clients send) -> LabourDetails id (what positions are keyed by), looked up once per
+    // labourer rather than per tick; the lookup doubles as the FK check
+    private final Map<Long, Long> knownLabourers = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> flushFailures = new ConcurrentHashMap<>();
+    private final GeoGrid grid = new GeoGrid(CELL_DEGREES);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LabourRepository labourRepository;
+    private final LabourLocationRepository labourLocationRepository;
+
+    public LiveLocationStore(JdbcTemplate jdbcTemplate, LabourRepository labourRepository,
+            LabourLocationRepository labourLocationRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.labourRepository = labourRepository;
+        this.labourLocationRepository = labourLocationRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        for (LabourLocationView stored : labourLocationRepository
+                .findByLastUpdatedAfter(LocalDateTime.now().minus(WARM_UP_WINDOW))) {
+            if (stored.getLastLatitude() == null || stored.getLastLongitude() == null) {
+                continue;
+            }
+            LiveLocation location = new LiveLocation(stored.getLabourId(), stored.getLastLatitude(),
+                    stored.getLastLongitude(), stored.getLastUpdated());
+            if (latest.putIfAbsent(location.labourId(), location) == null) {
+                grid.put(location.labourId(), location.lastLatitude(), location.lastLongitude());
+            }
+        }
+    }
+
+    // A tick from the labourer with this User id, stored and published under their labour profile id
+    public LiveLocation update(Long userId, double lat, double lng) {
+        Long labourId = knownLabourers.get(userId);
+        if (labourId == null) {
+            labourId = labourRepository.findIdByUserId(userId)
+                    .orElseThrow(() -> new RuntimeException("Labour profile not found"));
+            knownLabourers.put(userId, labourId);
+        }
+
+        LiveLocation location = new LiveLocation(labourId, lat, lng, LocalDateTime.now());
+        latest.put(labourId, location);
+        grid.put(labourId, lat, lng);
+        dirty.add(labourId);
+        return location;
+    }
+
+    // Reads come from memory; the table is only consulted for labourers not seen since startup
+    public LiveLocation get(Long labourId) {
+        LiveLocation location = latest.get(labourId);
+        if (location != null) {
+            return location;
+        }
+
+        LabourLocation stored = labourLocationRepository.findById(labourId).orElse(null);
+        if (stored == null || stored.getLastLatitude() == null || stored.getLastLongitude() == null) {
+            return null;
+        }
+        LiveLocation loaded = new LiveLocation(labourId, stored.getLastLatitude(), stored.getLastLongitude(),
+                stored.getLastUpdated());
+        // Don't clobber a tick that arrived while we were reading
+        LiveLocation existing = latest.putIfAbsent(labourId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    // Up to k labourers within maxRadiusKm, nearest first, whose position is at most maxAge old
+    public List<GeoGrid.Hit> findNearest(double lat, double lng, int k, double maxRadiusKm, Duration maxAge,
+            LongPredicate filter) {
+        LocalDateTime freshSince = LocalDateTime.now().minus(maxAge);
+        return grid.nearest(lat, lng, k, maxRadiusKm, labourId -> {
+            LiveLocation location = latest.get(labourId);
+            return location != null && location.lastUpdated() != null
+                    && location.lastUpdated().isAfter(freshSince)
+                    && (filter == null || filter.test(labourId));
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${labourline.location.flush-interval-ms:5000}")
+    public void flush() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+
+        List<LiveLocation> batch = new ArrayList<>();
+        for (Long labourId : dirty) {
+            // Remove before reading, so a tick landing after this point marks the id dirty again
+            dirty.remove(labourId);
+            LiveLocation location = latest.get(labourId);
+            if (location != null) {
+                batch.add(location);
+            }
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(UPSERT, batch, BATCH_SIZE, (ps, location) -> {
+                ps.setLong(1, location.labourId());
+                ps.setDouble(2, location.lastLatitude());
+                ps.setDouble(3, location.lastLongitude());
+                ps.setObject(4, location.lastUpdated());
+            });
+            batch.forEach(location -> flushFailures.remove(location.labourId()));
+        } catch (DataAccessException e) {
+            // One bad row fails the whole batch; find it rather than retrying the batch forever
+            log.warn("Flushing {} labour locations as a batch failed, retrying row by row", batch.size(), e);
+            flushRowByRow(batch);
+        }
+    }
+
+    private void flushRowByRow(List<LiveLocation> batch) {
+        for (int i = 0; i < batch.size(); i++) {
+            LiveLocation location = batch.get(i);
+            try {
+                jdbcTemplate.update(UPSERT, location.labourId(), location.lastLatitude(), location.lastLongitude(),
+                        location.lastUpdated());
+                flushFailures.remove(location.labourId());
+            } catch (DataIntegrityViolationException e) {
+                // This row can never be written, e.g. the profile was deleted after its first tick.
+                // Drop it, and make the labourer's next tick check the profile again.
+                knownLabourers.values().remove(location.labourId());
+                flushFailures.remove(location.labourId());
+                log.warn("Dropping the location of labourer {}: {}", location.labourId(),
+                        e.getMostSpecificCause().getMessage());
+            } catch (DataAccessException e) {
+                // Not this row's fault (database unreachable, ...): keep it and the rest for the next flush
+                batch.subList(i, batch.size()).forEach(this::requeue);
+                log.warn("Flushing labour locations failed, will retry", e);
+                return;
+            }
+        }
+    }
+
+    // Back in the dirty set for the next flush, unless it has already failed too often
+    private void requeue(LiveLocation location) {
+        int failures = flushFailures.merge(location.labourId(), 1, Integer::sum);
+        if (failures >= MAX_FLUSH_ATTEMPTS) {
+            flushFailures.remove(location.labourId());
+            log.warn("Giving up on writing the location of labourer {} after {} attempts", location.labourId(),
+                    failures);
+            return;
+        }
+        dirty.add(location.labourId());
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,61 @@
+package com.LabourLine.LabourLine.service;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.LabourLine.LabourLine.dto.LiveLocation;
+import com.LabourLine.LabourLine.utils.SseRegistry;
+
+// Streams the assigned labourer's GPS ticks to whoever is watching a job, as they arrive.
+// Streams are keyed by work id; labourToWorks routes a labourer's tick to the jobs they're on.
+@Component
+public class LiveTrackingHub implements WorkEventHandler {
+
+    private static final long STREAM_TIMEOUT_MS = 30 * 60 * 1000L;
+    private static final String LOCATION_EVENT = "LOCATION";
+
+    private final SseRegistry<Long> streams = new SseRegistry<>(STREAM_TIMEOUT_MS);
+    private final Map<Long, Set<Long>> labourToWorks = new ConcurrentHashMap<>();
+
+    public SseEmitter subscribe(Long workId, Long labourId, LiveLocation lastKnown) {
+        SseEmitter emitter = streams.subscribe(workId);
+        labourToWorks.computeIfAbsent(labourId, id -> ConcurrentHashMap.newKeySet()).add(workId);
+        // Give the map something to show before the next tick arrives
+        if (lastKnown != null) {
+            streams.send(workId, LOCATION_EVENT, lastKnown);
+        }
+        return emitter;
+    }
+
+    public void publish(LiveLocation location) {
+        Set<Long> workIds = labourToWorks.get(location.labourId());
+        if (workIds == null) {
+            return;
+        }
+        for (Long workId : workIds) {
+            if (streams.hasSubscribers(workId)) {
+                streams.send(workId, LOCATION_EVENT, location);
+            } else {
+                workIds.remove(workId);
+            }
+        }
+    }
+
+    // Nothing left to track once the job is done
+    @Override
+    public void handle(WorkEvent event) {
+        if (event.type() == WorkEvent.Type.WORK_COMPLETED) {
+            streams.complete(event.workId());
+        }
+    }
+
+    @Scheduled(fixedRate = 20000)
+    public void heartbeat() {
+        streams.heartbeat();
+    }
+}
@@ -0,0 +1,215 @@
+package com.LabourLine.LabourLine.service;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+
+import com.LabourLine.LabourLine.repository.WorkRepository;
+
+import jakarta.annotation.PreDestroy;
+
+// Generates small JPEG thumbnails for uploaded job photos off the request thread, in a small
+// bounded pool. The job list and map load the thumbnail instead of the full-resolution photo.
+// If the pool is backed up the thumbnail is skipped; clients fall back to the full image.
+@Component
+public class MediaProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(MediaProcessor.class);
+
+    private static final int THUMBNAIL_MAX_SIDE = 320;
+    private static final float THUMBNAIL_QUALITY = 0.75f;
+    private static final String THUMBNAIL_SUFFIX = "_thumb.jpg";
+
+    private final MediaStorage mediaStorage;
+    private final WorkRepository workRepository;
+    private final OpenWorkSnapshot openWorkSnapshot;
+    private final ThreadPoolExecutor executor;
+
+    public MediaProcessor(MediaStorage mediaStorage, WorkRepository workRepository, OpenWorkSnapshot openWorkSnapshot,
+            @Value("${labourline.media.processing-threads:2}") int threads,
+            @Value("${labourline.media.processing-queue:50}") int queueCapacity) {
+        this.mediaStorage = mediaStorage;
+        this.workRepository = workRepository;
+        this.openWorkSnapshot = openWorkSnapshot;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "media-processing-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // Queues a thumbnail for an uploaded image and returns the URL it will be served at,
+    // or null when the upload isn't an image or the queue is full
+    public String scheduleThumbnail(String fileName, String fileUrl) {
+        boolean isImage = MediaTypeFactory.getMediaType(fileName)
+                .map(type -> type.isCompatibleWith(MediaType.parseMediaType("image/*")))
+                .orElse(false);
+        if (!isImage) {
+            return null;
+        }
+
+        String thumbnailName = thumbnailNameFor(fileName);
+        String thumbnailUrl = replaceLastSegment(fileUrl, thumbnailName);
+        try {
+            executor.execute(() -> {
+                try {
+                    // Content-addressed names: a re-uploaded photo already has its thumbnail
+                    if (mediaStorage.resolve(thumbnailName) != null || writeThumbnail(fileName, thumbnailName)) {
+                        publishThumbnail(fileUrl, thumbnailUrl);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    log.warn("Thumbnail for {} failed", fileName, e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("Media processing queue full, skipping the thumbnail for {}", fileName);
+            return null;
+        }
+        return thumbnailUrl;
+    }
+
+    // For a job being posted: the thumbnail URL if it has already been generated
+    public String thumbnailUrlFor(String imageUrl) {
+        if (imageUrl == null || imageUrl.isBlank()) {
+            return null;
+        }
+        String thumbnailName = thumbnailNameFor(imageUrl.substring(imageUrl.lastIndexOf('/') + 1));
+        return mediaStorage.resolve(thumbnailName) != null ? replaceLastSegment(imageUrl, thumbnailName) : null;
+    }
+
+    // For a job just committed without a thumbnail: if the thumbnail landed after thumbnailUrlFor looked
+    // but before the row existed, its worker's update matched nothing, so attach it here
+    public String attachThumbnailIfReady(String imageUrl) {
+        String thumbnailUrl = thumbnailUrlFor(imageUrl);
+        if (thumbnailUrl != null) {
+            publishThumbnail(imageUrl, thumbnailUrl);
+        }
+        return thumbnailUrl;
+    }
+
+    // Both only fill rows still missing a thumbnail, so the worker and a posting job may race here safely
+    private void publishThumbnail(String imageUrl, String thumbnailUrl) {
+        workRepository.setThumbnailForImage(imageUrl, thumbnailUrl);
+        openWorkSnapshot.setThumbnailForImage(imageUrl, thumbnailUrl);
+    }
+
+    private boolean writeThumbnail(String fileName, String thumbnailName) throws IOException {
+        Path source = mediaStorage.resolve(fileName);
+        if (source == null) {
+            return false;
+        }
+
+        BufferedImage image = readSubsampled(source);
+        if (image == null) {
+            return false;
+        }
+
+        double scale = Math.min(1.0, (double) THUMBNAIL_MAX_SIDE / Math.max(image.getWidth(), image.getHeight()));
+        int width = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * scale));
+
+        // JPEG has no alpha: paint transparent PNGs onto white
+        BufferedImage thumbnail = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = thumbnail.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(image, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            g.dispose();
+        }
+
+        // Write beside the target and move into place, so /files never serves a half-written thumbnail
+        Path target = mediaStorage.pathFor(thumbnailName);
+        Path temp = mediaStorage.newTempFile();
+        try {
+            writeJpeg(thumbnail, temp);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return true;
+    }
+
+    // Decodes only every n-th pixel of large photos, so a 12MP upload never becomes a 48MB bitmap
+    private static BufferedImage readSubsampled(Path source) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int longestSide = Math.max(reader.getWidth(0), reader.getHeight(0));
+                int step = Math.max(1, longestSide / (THUMBNAIL_MAX_SIDE * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static void writeJpeg(BufferedImage image, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(target.toFile())) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(THUMBNAIL_QUALITY);
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private static String thumbnailNameFor(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return (dot > 0 ? fileName.substring(0, dot) : fileName) + THUMBNAIL_SUFFIX;
+    }
+
+    private static String replaceLastSegment(String url, String fileName) {
+        return url.substring(0, url.lastIndexOf('/') + 1) + fileName;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
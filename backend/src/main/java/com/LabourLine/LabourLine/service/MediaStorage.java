@@ -0,0 +1,122 @@
+package com.LabourLine.LabourLine.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+// Uploaded media on local disk under labourline.media.root, served back through /files/**.
+// Content-addressed: a file is named by the SHA-256 of its bytes, so the same photo posted on
+// twenty jobs is stored once and its URL never changes meaning (see FileController's caching).
+// Uploads are streamed, never read into the heap.
+@Component
+public class MediaStorage {
+
+    private static final Pattern SAFE_EXTENSION = Pattern.compile("[A-Za-z0-9]{1,8}");
+    private static final Pattern SAFE_NAME = Pattern.compile("[A-Za-z0-9._-]+");
+    // <sha256>.<ext>, plus derived files such as <sha256>_thumb.jpg
+    private static final Pattern CONTENT_ADDRESSED = Pattern.compile("[0-9a-f]{64}(_[a-z]+)?(\\.[a-z0-9]{1,8})?");
+
+    private final Path root;
+    // Uploads in flight; outside the root itself so they can't be served half-written
+    private final Path incoming;
+    private final long maxUploadBytes;
+
+    public MediaStorage(@Value("${labourline.media.root}") String root,
+            @Value("${labourline.media.max-upload-size:25MB}") DataSize maxUploadSize) throws IOException {
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+        this.maxUploadBytes = maxUploadSize.toBytes();
+        this.incoming = this.root.resolve(".incoming");
+        Files.createDirectories(this.incoming);
+    }
+
+    // Returns the stored file name, to be served as /files/{name}
+    public String store(MultipartFile file) throws IOException {
+        if (file.isEmpty()) {
+            throw new IllegalArgumentException("File is empty");
+        }
+        if (file.getSize() > maxUploadBytes) {
+            throw new MediaTooLargeException(maxUploadBytes);
+        }
+
+        // Hash while copying, so the bytes are read exactly once
+        MessageDigest digest = sha256();
+        Path temp = newTempFile();
+        try {
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            String fileName = HexFormat.of().formatHex(digest.digest()) + extensionOf(file.getOriginalFilename());
+            Path target = root.resolve(fileName);
+            if (!Files.exists(target)) {
+                try {
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    // Same bytes uploaded concurrently; the other copy won
+                }
+            }
+            return fileName;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // Named after their content, so what's behind the name can never change
+    public boolean isImmutable(String fileName) {
+        return CONTENT_ADDRESSED.matcher(fileName).matches();
+    }
+
+    // Null for anything that isn't a plain file directly under the root
+    public Path resolve(String fileName) {
+        if (fileName == null || !SAFE_NAME.matcher(fileName).matches() || fileName.startsWith(".")) {
+            return null;
+        }
+        Path path = root.resolve(fileName).normalize();
+        return path.getParent().equals(root) && Files.isRegularFile(path) ? path : null;
+    }
+
+    // Target path for a derived file (thumbnail etc.) written by MediaProcessor
+    Path pathFor(String fileName) {
+        return root.resolve(fileName);
+    }
+
+    Path newTempFile() throws IOException {
+        return Files.createTempFile(incoming, "upload", ".tmp");
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String extensionOf(String originalName) {
+        if (originalName == null || originalName.lastIndexOf('.') < 0) {
+            return "";
+        }
+        String extension = originalName.substring(originalName.lastIndexOf('.') + 1);
+        return SAFE_EXTENSION.matcher(extension).matches() ? "." + extension.toLowerCase() : "";
+    }
+
+    public static class MediaTooLargeException extends RuntimeException {
+        public MediaTooLargeException(long maxBytes) {
+            super("File is larger than " + DataSize.ofBytes(maxBytes).toMegabytes() + "MB");
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.LabourLine.LabourLine.service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.LabourLine.LabourLine.dto.WorkIndexView;
+import com.LabourLine.LabourLine.entity.Work;
+import com.LabourLine.LabourLine.entity.type.WorkStatus;
+import com.LabourLine.LabourLine.repository.WorkRepository;
+import com.LabourLine.LabourLine.utils.GeoGrid;
+import com.LabourLine.LabourLine.utils.LongHashSet;
+import com.LabourLine.LabourLine.utils.SkillIndex;
+
+// In-memory grid and skill index of OPEN jobs, so radius and skill queries don't scan the work table.
+// Loaded once at startup, then kept in step by whoever changes a job's status. Also drives the
+// pre-rendered open-work feed (OpenWorkSnapshot), so that follows the same changes.
+@Component
+public class OpenWorkIndex {
+
+    // ~5.5 km cells: a typical 5-20 km search touches a handful of cells
+    private static final double CELL_DEGREES = 0.05;
+
+    // Per-job facts the recommender ranks on, so scoring needs no DB rows
+    public record Facts(Double budget, LocalDateTime createdAt) {
+    }
+
+    private final GeoGrid grid = new GeoGrid(CELL_DEGREES);
+    private final SkillIndex skills = new SkillIndex();
+    private final Map<Long, Facts> facts = new ConcurrentHashMap<>();
+    private final WorkRepository workRepository;
+    private final OpenWorkSnapshot snapshot;
+
+    public OpenWorkIndex(WorkRepository workRepository, OpenWorkSnapshot snapshot) {
+        this.workRepository = workRepository;
+        this.snapshot = snapshot;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        grid.clear();
+        skills.clear();
+        facts.clear();
+        for (WorkIndexView work : workRepository.findIndexEntriesByStatus(WorkStatus.OPEN)) {
+            put(work.getId(), work.getLatitude(), work.getLongitude(), work.getSkillsRequired(),
+                    new Facts(work.getBudget(), work.getCreatedAt()));
+        }
+        snapshot.rebuild();
+    }
+
+    public void add(Work work) {
+        if (work.getId() == null) {
+            return;
+        }
+        put(work.getId(), work.getLatitude(), work.getLongitude(), work.getSkillsRequired(),
+                new Facts(work.getBudget(), work.getCreatedAt()));
+        snapshot.add(work);
+    }
+
+    public void remove(Long workId) {
+        grid.remove(workId);
+        skills.remove(workId);
+        facts.remove(workId);
+        snapshot.remove(workId);
+    }
+
+    // Inside a transaction, only drop the job once the status change is committed
+    public void removeAfterCommit(Long workId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            remove(workId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                remove(workId);
+            }
+        });
+    }
+
+    public List<GeoGrid.Hit> findWithin(double lat, double lng, double radiusKm) {
+        return grid.within(lat, lng, radiusKm);
+    }
+
+    // OPEN jobs asking for at least one of the skill tokens (see SkillIndex.tokenize)
+    public LongHashSet findMatchingSkills(Collection<String> skillTokens) {
+        return skills.matchingAny(skillTokens);
+    }
+
+    // How many of the skill tokens the job asks for
+    public int skillOverlap(long workId, Collection<String> skillTokens) {
+        return skills.overlap(workId, skillTokens);
+    }
+
+    public Facts getFacts(long workId) {
+        return facts.get(workId);
+    }
+
+    private void put(Long id, Double lat, Double lng, String skillsRequired, Facts workFacts) {
+        facts.put(id, workFacts);
+        skills.put(id, skillsRequired);
+        // Jobs without coordinates can never match a radius query
+        if (lat != null && lng != null) {
+            grid.put(id, lat, lng);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.LabourLine.LabourLine.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import com.LabourLine.LabourLine.dto.OpenWorkView;
+import com.LabourLine.LabourLine.dto.WorkCursor;
+import com.LabourLine.LabourLine.entity.User;
+import com.LabourLine.LabourLine.entity.Work;
+import com.LabourLine.LabourLine.entity.type.WorkStatus;
+import com.LabourLine.LabourLine.repository.WorkRepository;
+
+import tools.jackson.databind.json.JsonMapper;
+
+// Immutable copy of every OPEN job card, newest first, so the open-work feed needs no DB query.
+// Each change publishes a new Snapshot with the next version; the default first page is kept
+// already serialized, since that's what the Work and Maps screens poll.
+// Kept in step by OpenWorkIndex, which every status change already goes through.
+@Component
+public class OpenWorkSnapshot {
+
+    public record Snapshot(String etag, List<OpenWorkView> newestFirst, Map<Long, OpenWorkView> byId,
+            byte[] firstPageJson, String firstPageCursor) {
+
+        // Up to limit jobs older than beforeId (null for the first page)
+        public List<OpenWorkView> page(Long beforeId, int limit) {
+            int from = 0;
+            if (beforeId != null) {
+                // Ids descend, so find the first one below the cursor
+                int low = 0;
+                int high = newestFirst.size();
+                while (low < high) {
+                    int mid = (low + high) >>> 1;
+                    if (newestFirst.get(mid).id() >= beforeId) {
+                        low = mid + 1;
+                    } else {
+                        high = mid;
+                    }
+                }
+                from = low;
+            }
+            return newestFirst.subList(from, Math.min(from + limit, newestFirst.size()));
+        }
+    }
+
+    // Versions restart with the process, so the ETag carries the start time too
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong version = new AtomicLong();
+    private final WorkRepository workRepository;
+    private final JsonMapper jsonMapper;
+
+    private volatile Snapshot current;
+
+    public OpenWorkSnapshot(WorkRepository workRepository, JsonMapper jsonMapper) {
+        this.workRepository = workRepository;
+        this.jsonMapper = jsonMapper;
+        this.current = build(List.of());
+    }
+
+    public Snapshot current() {
+        return current;
+    }
+
+    public synchronized void rebuild() {
+        current = build(workRepository.findOpenViewsByStatus(WorkStatus.OPEN, Limit.unlimited()));
+    }
+
+    public synchronized void add(Work work) {
+        User employer = work.getEmployer();
+        OpenWorkView view = new OpenWorkView(work.getId(), work.getTitle(), work.getDescription(),
+                work.getSkillsRequired(), work.getBudget(), work.isBiddingAllowed(), work.getLocation(),
+                work.getLatitude(), work.getLongitude(), work.getImage(), work.getThumbnailUrl(), work.getAudioUrl(),
+                work.getStatus(), employer == null ? null : employer.getId(), employer == null ? null : employer.getName());
+
+        List<OpenWorkView> works = new ArrayList<>(current.newestFirst().size() + 1);
+        boolean added = false;
+        for (OpenWorkView existing : current.newestFirst()) {
+            if (existing.id().equals(view.id())) {
+                continue;
+            }
+            if (!added && existing.id() < view.id()) {
+                works.add(view);
+                added = true;
+            }
+            works.add(existing);
+        }
+        if (!added) {
+            works.add(view);
+        }
+        current = build(works);
+    }
+
+    public synchronized void remove(Long workId) {
+        if (!current.byId().containsKey(workId)) {
+            return;
+        }
+        List<OpenWorkView> works = new ArrayList<>(current.newestFirst());
+        works.removeIf(work -> work.id().equals(workId));
+        current = build(works);
+    }
+
+    // A thumbnail finished after the job was posted: swap it into the cards showing that image
+    public synchronized void setThumbnailForImage(String image, String thumbnailUrl) {
+        boolean changed = false;
+        List<OpenWorkView> works = new ArrayList<>(current.newestFirst().size());
+        for (OpenWorkView work : current.newestFirst()) {
+            if (image.equals(work.image()) && work.thumbnailUrl() == null) {
+                work = new OpenWorkView(work.id(), work.title(), work.description(), work.skillsRequired(),
+                        work.budget(), work.isBiddingAllowed(), work.location(), work.latitude(), work.longitude(),
+                        work.image(), thumbnailUrl, work.audioUrl(), work.status(), work.employerId(),
+                        work.employerName());
+                changed = true;
+            }
+            works.add(work);
+        }
+        if (changed) {
+            current = build(works);
+        }
+    }
+
+    private Snapshot build(Collection<OpenWorkView> works) {
+        List<OpenWorkView> newestFirst = Collections.unmodifiableList(new ArrayList<>(works));
+        Map<Long, OpenWorkView> byId = new HashMap<>(newestFirst.size() * 2);
+        for (OpenWorkView work : newestFirst) {
+            byId.put(work.id(), work);
+        }
+
+        List<OpenWorkView> firstPage = newestFirst.subList(0, Math.min(WorkCursor.DEFAULT_PAGE_SIZE, newestFirst.size()));
+        String firstPageCursor = newestFirst.size() > WorkCursor.DEFAULT_PAGE_SIZE
+                ? WorkCursor.byId(firstPage.get(firstPage.size() - 1).id()).encode()
+                : null;
+
+        return new Snapshot("\"" + epoch + "-" + version.incrementAndGet() + "\"", newestFirst,
+                Collections.unmodifiableMap(byId), jsonMapper.writeValueAsBytes(firstPage), firstPageCursor);
+    }
+}
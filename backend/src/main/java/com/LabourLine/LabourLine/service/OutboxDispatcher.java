@@ -0,0 +1,126 @@
+package com.LabourLine.LabourLine.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.LabourLine.LabourLine.entity.OutboxEvent;
+import com.LabourLine.LabourLine.repository.OutboxEventRepository;
+
+import jakarta.annotation.PreDestroy;
+
+// Drains the outbox in batches on a single background thread and hands each event to every
+// WorkEventHandler. Woken right after a commit that wrote events, and polled on a timer to pick up
+// whatever a crash or a failing handler left behind. A row is only marked processed once all
+// handlers have run, so delivery is at-least-once. One thread per instance: this app runs as a
+// single node, like its in-memory indexes.
+@Component
+public class OutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    private static final Duration RETENTION = Duration.ofDays(7);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<WorkEventHandler> handlers;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "outbox-dispatcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Set while a drain is queued, so a burst of commits queues one drain rather than one each
+    private final AtomicBoolean drainQueued = new AtomicBoolean();
+
+    public OutboxDispatcher(OutboxEventRepository outboxEventRepository, List<WorkEventHandler> handlers,
+            @Value("${labourline.outbox.batch-size:100}") int batchSize,
+            @Value("${labourline.outbox.max-attempts:10}") int maxAttempts) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.handlers = handlers;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+    }
+
+    public void wakeUp() {
+        if (drainQueued.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${labourline.outbox.poll-interval-ms:2000}")
+    public void poll() {
+        wakeUp();
+    }
+
+    @Scheduled(cron = "0 30 3 * * *")
+    public void purgeProcessed() {
+        int deleted = outboxEventRepository.deleteProcessedBefore(LocalDateTime.now().minus(RETENTION));
+        if (deleted > 0) {
+            log.info("Purged {} processed outbox events", deleted);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void drain() {
+        // Cleared first: a commit landing mid-drain queues another pass rather than being missed
+        drainQueued.set(false);
+        try {
+            List<OutboxEvent> batch;
+            do {
+                batch = outboxEventRepository.findPending(Limit.of(batchSize));
+                List<Long> processed = new ArrayList<>(batch.size());
+                for (OutboxEvent row : batch) {
+                    if (deliver(row)) {
+                        processed.add(row.getId());
+                    }
+                }
+                if (!processed.isEmpty()) {
+                    outboxEventRepository.markProcessed(processed, LocalDateTime.now());
+                }
+                // Failed rows stay pending; leave them for the next poll instead of spinning on them
+                if (processed.size() < batch.size()) {
+                    return;
+                }
+            } while (batch.size() == batchSize);
+        } catch (RuntimeException e) {
+            log.warn("Outbox drain failed, retrying on the next poll", e);
+        }
+    }
+
+    // True once the row needs no further delivery attempts
+    private boolean deliver(OutboxEvent row) {
+        WorkEvent event = row.toEvent();
+        try {
+            for (WorkEventHandler handler : handlers) {
+                handler.handle(event);
+            }
+            return true;
+        } catch (RuntimeException e) {
+            String error = String.valueOf(e);
+            outboxEventRepository.recordFailure(row.getId(), error.length() > 500 ? error.substring(0, 500) : error);
+            if (row.getAttempts() + 1 >= maxAttempts) {
+                log.error("Giving up on outbox event {} ({}) after {} attempts", row.getId(), row.getType(),
+                        row.getAttempts() + 1, e);
+                return true;
+            }
+            log.warn("Outbox event {} ({}) failed, will retry", row.getId(), row.getType(), e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.LabourLine.LabourLine.service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+// Small fixed pool for password hashing. Hashing is pure CPU, so a login burst at shift start
+// queues here instead of pinning every Tomcat worker; once the queue is full callers are
+// turned away straight away rather than waiting behind hundreds of hashes.
+@Component
+public class PasswordHashExecutor {
+
+    private final ThreadPoolExecutor executor;
+
+    public PasswordHashExecutor(@Value("${labourline.password.hash-threads:0}") int threads,
+            @Value("${labourline.password.hash-queue:100}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, pool) -> {
+                    throw new TaskRejectedException("Too many logins in progress, try again shortly");
+                });
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, executor);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,87 @@
+package com.LabourLine.LabourLine.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.LabourLine.LabourLine.entity.EmployerDetails;
+import com.LabourLine.LabourLine.entity.LabourDetails;
+import com.LabourLine.LabourLine.entity.User;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// Explicit control over the second-level cache regions holding user profiles (read on most requests,
+// rarely changed: User, LabourDetails and EmployerDetails are @Cacheable), and their hit/miss numbers.
+// Hibernate keeps the regions in step with entity saves on its own; eviction here covers the writes
+// it can't see through (bulk updates) and makes registration / skill edits visible immediately.
+@Component
+public class ProfileCache {
+
+    private final SessionFactory sessionFactory;
+
+    public ProfileCache(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    // Drops the user, both profiles and cached phone lookups, once the surrounding transaction commits
+    public void evictUserAfterCommit(Long userId, Long labourDetailsId, Long employerDetailsId) {
+        Runnable evict = () -> {
+            Cache cache = sessionFactory.getCache();
+            if (userId != null) {
+                cache.evictEntityData(User.class, userId);
+            }
+            if (labourDetailsId != null) {
+                cache.evictEntityData(LabourDetails.class, labourDetailsId);
+            }
+            if (employerDetailsId != null) {
+                cache.evictEntityData(EmployerDetails.class, employerDetailsId);
+            }
+            cache.evictDefaultQueryRegion();
+        };
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict.run();
+            }
+        });
+    }
+
+    public Map<String, Object> getStatistics() {
+        Statistics statistics = sessionFactory.getStatistics();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", statistics.isStatisticsEnabled());
+        result.put("secondLevelHits", statistics.getSecondLevelCacheHitCount());
+        result.put("secondLevelMisses", statistics.getSecondLevelCacheMissCount());
+        result.put("secondLevelPuts", statistics.getSecondLevelCachePutCount());
+        result.put("queryCacheHits", statistics.getQueryCacheHitCount());
+        result.put("queryCacheMisses", statistics.getQueryCacheMissCount());
+        result.put("queryCachePuts", statistics.getQueryCachePutCount());
+
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (Class<?> entity : new Class<?>[] { User.class, LabourDetails.class, EmployerDetails.class }) {
+            CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(entity.getName());
+            if (region != null) {
+                regions.put(entity.getSimpleName(), Map.of(
+                        "hits", region.getHitCount(),
+                        "misses", region.getMissCount(),
+                        "puts", region.getPutCount(),
+                        "elementsInMemory", region.getElementCountInMemory()));
+            }
+        }
+        result.put("regions", regions);
+        return result;
+    }
+}
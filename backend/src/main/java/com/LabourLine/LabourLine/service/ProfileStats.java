@@ -0,0 +1,50 @@
+package com.LabourLine.LabourLine.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.LabourLine.LabourLine.entity.Work;
+import com.LabourLine.LabourLine.repository.BidRepository;
+import com.LabourLine.LabourLine.repository.EmployerRepository;
+import com.LabourLine.LabourLine.repository.LabourRepository;
+
+// Running totals for the profile screens (jobs done, earnings, spending). Each completed job adds
+// its price with one relative UPDATE per profile, so reading a profile never aggregates WorkAccepted
+// or Bid rows. A nightly pass recomputes the totals from those rows and repairs any drift.
+@Component
+public class ProfileStats {
+
+    private static final Logger log = LoggerFactory.getLogger(ProfileStats.class);
+
+    private final LabourRepository labourRepository;
+    private final EmployerRepository employerRepository;
+    private final BidRepository bidRepository;
+
+    public ProfileStats(LabourRepository labourRepository, EmployerRepository employerRepository,
+            BidRepository bidRepository) {
+        this.labourRepository = labourRepository;
+        this.employerRepository = employerRepository;
+        this.bidRepository = bidRepository;
+    }
+
+    // Call inside the transaction completing the job: the totals only move if the completion commits
+    public void recordCompletion(Work work, Long labourUserId) {
+        double price = bidRepository.findAcceptedAmountByWorkId(work.getId())
+                .orElse(work.getBudget() == null ? 0.0 : work.getBudget());
+        labourRepository.recordCompletedJob(labourUserId, price);
+        employerRepository.recordSpending(work.getEmployer().getId(), price);
+    }
+
+    // Deltas don't drift on their own; this covers rows edited by hand, completions from before
+    // the totals were kept, and a completion racing with the previous reconcile
+    @Scheduled(cron = "${labourline.stats.reconcile-cron:0 0 4 * * *}")
+    public void reconcile() {
+        int labourers = labourRepository.reconcileJobStats();
+        int employers = employerRepository.reconcileSpending();
+        if (labourers > 0 || employers > 0) {
+            log.warn("Repaired profile totals for {} labourers and {} employers", labourers, employers);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.LabourLine.LabourLine.service;
+
+// Thrown when a job was taken by someone else between reading it and claiming it.
+// Controllers turn this into 409 Conflict instead of the usual 400.
+public class WorkConflictException extends RuntimeException {
+
+    public WorkConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,19 @@
+package com.LabourLine.LabourLine.service;
+
+// Something happened to a job that one user's app should hear about straight away.
+// Published through Spring's ApplicationEventPublisher inside the transaction making the change;
+// WorkEventOutbox stores it and OutboxDispatcher delivers it to the WorkEventHandlers after commit.
+public record WorkEvent(Type type, Long recipientUserId, Long workId, Long bidId) {
+
+    public enum Type {
+        BID_PLACED,     // to the employer
+        BID_ACCEPTED,   // to the winning labourer
+        BID_REJECTED,   // to every other bidder
+        WORK_ACCEPTED,  // to the employer
+        WORK_COMPLETED  // to the labourer
+    }
+
+    public static WorkEvent of(Type type, Long recipientUserId, Long workId) {
+        return new WorkEvent(type, recipientUserId, workId, null);
+    }
+}
@@ -0,0 +1,9 @@
+package com.LabourLine.LabourLine.service;
+
+// Consumer of committed WorkEvents. Every bean implementing this is called by OutboxDispatcher,
+// off the request thread. Delivery is at-least-once: after a failure or a crash the event is
+// handed to every handler again, so handlers must cope with seeing it twice.
+public interface WorkEventHandler {
+
+    void handle(WorkEvent event);
+}
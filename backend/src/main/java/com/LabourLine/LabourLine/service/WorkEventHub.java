@@ -0,0 +1,47 @@
+package com.LabourLine.LabourLine.service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.LabourLine.LabourLine.utils.SseRegistry;
+
+// In-process fan-out of WorkEvents to Server-Sent Event streams, keyed by user id.
+// Replaces the apps polling active-work / check-accepted-bids every few seconds.
+@Component
+public class WorkEventHub implements WorkEventHandler {
+
+    // Clients reconnect after this; keeps abandoned streams from piling up
+    private static final long STREAM_TIMEOUT_MS = 30 * 60 * 1000L;
+
+    private final SseRegistry<Long> streams = new SseRegistry<>(STREAM_TIMEOUT_MS);
+
+    public SseEmitter subscribe(Long userId) {
+        return streams.subscribe(userId);
+    }
+
+    // Called from the outbox once the change is committed, so nobody is told about one that rolled back.
+    // A redelivered event just repeats the notification; the apps re-fetch on every event anyway.
+    @Override
+    public void handle(WorkEvent event) {
+        if (!streams.hasSubscribers(event.recipientUserId())) {
+            return;
+        }
+
+        Map<String, Object> data = new HashMap<>();
+        data.put("type", event.type());
+        data.put("workId", event.workId());
+        if (event.bidId() != null) {
+            data.put("bidId", event.bidId());
+        }
+        streams.send(event.recipientUserId(), event.type().name(), data);
+    }
+
+    @Scheduled(fixedRate = 20000)
+    public void heartbeat() {
+        streams.heartbeat();
+    }
+}
@@ -0,0 +1,40 @@
+package com.LabourLine.LabourLine.service;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.LabourLine.LabourLine.entity.OutboxEvent;
+import com.LabourLine.LabourLine.repository.OutboxEventRepository;
+
+// Turns published WorkEvents into outbox rows. A plain (synchronous) listener, so the row joins the
+// publisher's transaction and commits or rolls back together with the change it announces.
+@Component
+public class WorkEventOutbox {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxDispatcher dispatcher;
+
+    public WorkEventOutbox(OutboxEventRepository outboxEventRepository, OutboxDispatcher dispatcher) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.dispatcher = dispatcher;
+    }
+
+    @EventListener
+    public void onWorkEvent(WorkEvent event) {
+        outboxEventRepository.save(OutboxEvent.of(event));
+
+        // Deliver as soon as the row is visible instead of waiting for the next poll
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            dispatcher.wakeUp();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                dispatcher.wakeUp();
+            }
+        });
+    }
+}
@@ -0,0 +1,149 @@
+package com.LabourLine.LabourLine.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+
+import com.LabourLine.LabourLine.dto.LabourSkillsView;
+import com.LabourLine.LabourLine.dto.LiveLocation;
+import com.LabourLine.LabourLine.dto.OpenWorkView;
+import com.LabourLine.LabourLine.dto.RecommendedWork;
+import com.LabourLine.LabourLine.entity.type.WorkStatus;
+import com.LabourLine.LabourLine.repository.LabourRepository;
+import com.LabourLine.LabourLine.repository.WorkRepository;
+import com.LabourLine.LabourLine.utils.GeoGrid;
+import com.LabourLine.LabourLine.utils.SkillIndex;
+
+// Ranks nearby OPEN jobs for a labourer. Candidates come from the radius search, scoring reads only
+// in-memory index data, a size-K heap keeps the best, and just those K rows are loaded from the DB.
+@Service
+public class WorkRecommendationService {
+
+    private static final double DISTANCE_WEIGHT = 0.35;
+    private static final double SKILL_WEIGHT = 0.35;
+    private static final double PAY_WEIGHT = 0.15;
+    private static final double FRESHNESS_WEIGHT = 0.15;
+
+    // Budget at which the pay score reaches 0.5; it approaches 1 for much bigger jobs
+    private static final double PAY_HALF_POINT = 1000;
+    // A job loses half its freshness score every two days
+    private static final double FRESHNESS_HALF_LIFE_HOURS = 48;
+    // Jobs posted before createdAt existed
+    private static final double UNKNOWN_FRESHNESS = 0.5;
+
+    record Scored(long workId, double distanceKm, double score) {
+    }
+
+    // Ties go to the newer job
+    private static final Comparator<Scored> BY_SCORE =
+            Comparator.comparingDouble(Scored::score).thenComparingLong(Scored::workId);
+
+    private final WorkSearchService workSearchService;
+    private final OpenWorkIndex openWorkIndex;
+    private final LiveLocationStore liveLocationStore;
+    private final LabourRepository labourRepository;
+    private final WorkRepository workRepository;
+
+    public WorkRecommendationService(WorkSearchService workSearchService, OpenWorkIndex openWorkIndex,
+            LiveLocationStore liveLocationStore, LabourRepository labourRepository, WorkRepository workRepository) {
+        this.workSearchService = workSearchService;
+        this.openWorkIndex = openWorkIndex;
+        this.liveLocationStore = liveLocationStore;
+        this.labourRepository = labourRepository;
+        this.workRepository = workRepository;
+    }
+
+    // lat / lng override the labourer's last reported position when given
+    public List<RecommendedWork> recommend(Long userId, Double lat, Double lng, double radiusKm, int limit) {
+        // The client sends the User id; positions and skills belong to the labour profile
+        LabourSkillsView labour = labourRepository.findSkillViewByUserId(userId)
+                .orElseThrow(() -> new RuntimeException("Labour profile not found"));
+
+        if (lat == null || lng == null) {
+            LiveLocation location = liveLocationStore.get(labour.getId());
+            if (location == null) {
+                throw new RuntimeException("Location unknown: share your location or pass userLat and userLng");
+            }
+            lat = location.lastLatitude();
+            lng = location.lastLongitude();
+        }
+
+        Set<String> skillTokens = SkillIndex.tokenize(labour.getSkills());
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Scored> candidates = new ArrayList<>();
+        for (GeoGrid.Hit hit : workSearchService.findOpenNear(lat, lng, radiusKm)) {
+            double skillMatch = skillTokens.isEmpty()
+                    ? 0
+                    : (double) openWorkIndex.skillOverlap(hit.id(), skillTokens) / skillTokens.size();
+            candidates.add(new Scored(hit.id(), hit.distanceKm(),
+                    score(hit.distanceKm(), radiusKm, skillMatch, openWorkIndex.getFacts(hit.id()), now)));
+        }
+        List<Scored> ranked = topK(candidates, limit);
+
+        Map<Long, OpenWorkView> worksById = new HashMap<>();
+        for (OpenWorkView work : workRepository.findOpenViewsByIdIn(
+                ranked.stream().map(Scored::workId).collect(Collectors.toList()))) {
+            worksById.put(work.id(), work);
+        }
+
+        List<RecommendedWork> result = new ArrayList<>(ranked.size());
+        for (Scored scored : ranked) {
+            OpenWorkView work = worksById.get(scored.workId());
+            if (work != null && work.status() == WorkStatus.OPEN) {
+                result.add(new RecommendedWork(work, scored.distanceKm(), scored.score()));
+            }
+        }
+        return result;
+    }
+
+    // Best `limit` candidates, best first. A min-heap of the best K so far: each candidate costs
+    // O(log K), never a full sort.
+    static List<Scored> topK(Iterable<Scored> candidates, int limit) {
+        PriorityQueue<Scored> best = new PriorityQueue<>(limit + 1, BY_SCORE);
+        for (Scored scored : candidates) {
+            if (best.size() < limit) {
+                best.add(scored);
+            } else if (BY_SCORE.compare(scored, best.peek()) > 0) {
+                best.poll();
+                best.add(scored);
+            }
+        }
+
+        List<Scored> ranked = new ArrayList<>(best);
+        ranked.sort(Collections.reverseOrder(BY_SCORE));
+        return ranked;
+    }
+
+    // Weighted sum of four scores, each in [0, 1]. skillMatch is the share of the labourer's skills the
+    // job asks for; facts may be missing, or lack a budget / createdAt.
+    static double score(double distanceKm, double radiusKm, double skillMatch, OpenWorkIndex.Facts facts,
+            LocalDateTime now) {
+        double distance = radiusKm > 0 ? 1 - Math.min(1, distanceKm / radiusKm) : 1;
+
+        double pay = 0;
+        double freshness = UNKNOWN_FRESHNESS;
+        if (facts != null) {
+            if (facts.budget() != null && facts.budget() > 0) {
+                pay = facts.budget() / (facts.budget() + PAY_HALF_POINT);
+            }
+            if (facts.createdAt() != null) {
+                double ageHours = Math.max(0, Duration.between(facts.createdAt(), now).toMinutes() / 60.0);
+                freshness = Math.pow(0.5, ageHours / FRESHNESS_HALF_LIFE_HOURS);
+            }
+        }
+
+        return DISTANCE_WEIGHT * distance + SKILL_WEIGHT * skillMatch + PAY_WEIGHT * pay
+                + FRESHNESS_WEIGHT * freshness;
+    }
+}
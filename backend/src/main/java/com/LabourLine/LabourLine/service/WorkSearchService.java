@@ -0,0 +1,110 @@
+package com.LabourLine.LabourLine.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.LongPredicate;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.LabourLine.LabourLine.dto.WorkCursor;
+import com.LabourLine.LabourLine.dto.WorkLocationView;
+import com.LabourLine.LabourLine.entity.type.WorkStatus;
+import com.LabourLine.LabourLine.repository.WorkRepository;
+import com.LabourLine.LabourLine.utils.GeoGrid;
+import com.LabourLine.LabourLine.utils.GeoUtils;
+
+// Finds OPEN jobs near a point. Where the search runs is picked by labourline.open-work.geo-search:
+//   INDEX          - in-memory grid (OpenWorkIndex), no DB hit for the search itself
+//   BOUNDING_BOX   - indexed lat/lng box in Postgres, exact distance checked here
+//   EARTH_DISTANCE - Postgres earthdistance extension does the whole radius check
+@Service
+public class WorkSearchService {
+
+    public enum GeoSearchMode {
+        INDEX,
+        BOUNDING_BOX,
+        EARTH_DISTANCE
+    }
+
+    private static final Comparator<GeoGrid.Hit> NEAREST_FIRST =
+            Comparator.comparingDouble(GeoGrid.Hit::distanceKm).thenComparingLong(GeoGrid.Hit::id);
+
+    private final GeoSearchMode mode;
+    private final OpenWorkIndex openWorkIndex;
+    private final WorkRepository workRepository;
+
+    public WorkSearchService(@Value("${labourline.open-work.geo-search:INDEX}") GeoSearchMode mode,
+            OpenWorkIndex openWorkIndex, WorkRepository workRepository) {
+        this.mode = mode;
+        this.openWorkIndex = openWorkIndex;
+        this.workRepository = workRepository;
+    }
+
+    public GeoSearchMode getMode() {
+        return mode;
+    }
+
+    // OPEN jobs within radiusKm of (lat, lng), unordered
+    public List<GeoGrid.Hit> findOpenNear(double lat, double lng, double radiusKm) {
+        switch (mode) {
+            case BOUNDING_BOX:
+                return withinRadius(lat, lng, radiusKm, findInBox(lat, lng, radiusKm));
+            case EARTH_DISTANCE:
+                return withinRadius(lat, lng, radiusKm,
+                        workRepository.findOpenLocationsWithinDistance(lat, lng, radiusKm * 1000));
+            default:
+                return openWorkIndex.findWithin(lat, lng, radiusKm);
+        }
+    }
+
+    // One keyset page of OPEN jobs within radiusKm, nearest first, starting after the given cursor.
+    // The optional filter (e.g. a skill match) is applied before paging, so pages stay full.
+    public List<GeoGrid.Hit> findOpenNearPage(double lat, double lng, double radiusKm, LongPredicate filter,
+            WorkCursor after, int limit) {
+        return findOpenNear(lat, lng, radiusKm).stream()
+                .filter(hit -> filter == null || filter.test(hit.id()))
+                .filter(hit -> after == null || after.isBefore(hit.distanceKm(), hit.id()))
+                .sorted(NEAREST_FIRST)
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    private List<WorkLocationView> findInBox(double lat, double lng, double radiusKm) {
+        double latDelta = GeoUtils.latDelta(radiusKm);
+        double lngDelta = GeoUtils.lngDelta(lat, radiusKm);
+        double minLat = Math.max(-90, lat - latDelta);
+        double maxLat = Math.min(90, lat + latDelta);
+
+        if (lngDelta >= 180) {
+            return workRepository.findLocationsInBox(WorkStatus.OPEN, minLat, maxLat, -180, 180);
+        }
+
+        double minLng = lng - lngDelta;
+        double maxLng = lng + lngDelta;
+        List<WorkLocationView> candidates = new ArrayList<>(
+                workRepository.findLocationsInBox(WorkStatus.OPEN, minLat, maxLat,
+                        Math.max(-180, minLng), Math.min(180, maxLng)));
+
+        // The box crosses the antimeridian: fetch the slice on the other side as well
+        if (minLng < -180) {
+            candidates.addAll(workRepository.findLocationsInBox(WorkStatus.OPEN, minLat, maxLat, minLng + 360, 180));
+        } else if (maxLng > 180) {
+            candidates.addAll(workRepository.findLocationsInBox(WorkStatus.OPEN, minLat, maxLat, -180, maxLng - 360));
+        }
+        return candidates;
+    }
+
+    private List<GeoGrid.Hit> withinRadius(double lat, double lng, double radiusKm, List<WorkLocationView> candidates) {
+        List<GeoGrid.Hit> hits = new ArrayList<>(candidates.size());
+        for (WorkLocationView candidate : candidates) {
+            double distance = GeoUtils.distanceKm(lat, lng, candidate.getLatitude(), candidate.getLongitude());
+            if (distance <= radiusKm) {
+                hits.add(new GeoGrid.Hit(candidate.getId(), distance));
+            }
+        }
+        return hits;
+    }
+}
@@ -0,0 +1,74 @@
+package com.LabourLine.LabourLine.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+
+import com.LabourLine.LabourLine.dto.OpenWorkView;
+import com.LabourLine.LabourLine.dto.WorkSearchHit;
+import com.LabourLine.LabourLine.entity.type.WorkStatus;
+import com.LabourLine.LabourLine.repository.WorkRepository;
+
+// Keyword search over OPEN job titles and descriptions, served by the idx_work_open_fts GIN index.
+// Every word is a prefix match ("plumb" finds "plumber", "plumbing"), all words must match.
+@Service
+public class WorkTextSearchService {
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{M}\\p{N}]+");
+    // Long queries don't make results better, only the index scan slower
+    static final int MAX_TERMS = 8;
+
+    private final WorkRepository workRepository;
+
+    public WorkTextSearchService(WorkRepository workRepository) {
+        this.workRepository = workRepository;
+    }
+
+    public List<OpenWorkView> search(String text, int limit) {
+        String query = toPrefixQuery(text);
+        if (query == null) {
+            return new ArrayList<>();
+        }
+
+        List<WorkSearchHit> hits = workRepository.searchOpen(query, limit);
+        Map<Long, OpenWorkView> worksById = new HashMap<>();
+        for (OpenWorkView work : workRepository.findOpenViewsByIdIn(
+                hits.stream().map(WorkSearchHit::getId).collect(Collectors.toList()))) {
+            worksById.put(work.id(), work);
+        }
+
+        // Keep the rank order from the search
+        return hits.stream()
+                .map(hit -> worksById.get(hit.getId()))
+                .filter(work -> work != null && work.status() == WorkStatus.OPEN)
+                .collect(Collectors.toList());
+    }
+
+    // "Tile  work!" -> "tile:* & work:*". Only letters, digits and combining marks (Devanagari vowel
+    // signs) reach to_tsquery, so user input can never produce tsquery syntax errors. Null when there's
+    // nothing to search for.
+    public static String toPrefixQuery(String text) {
+        if (text == null) {
+            return null;
+        }
+        StringJoiner query = new StringJoiner(" & ");
+        int terms = 0;
+        for (String word : SEPARATORS.split(text.toLowerCase(Locale.ROOT))) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            query.add(word + ":*");
+            if (++terms == MAX_TERMS) {
+                break;
+            }
+        }
+        return terms == 0 ? null : query.toString();
+    }
+}
@@ -0,0 +1,233 @@
+package com.LabourLine.LabourLine.utils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongPredicate;
+
+/**
+ * Fixed-size lat/lng grid of points keyed by id.
+ * Radius queries only visit the cells overlapping the search circle's bounding box;
+ * nearest-neighbour queries walk outwards ring by ring and stop once no closer point can exist.
+ * Reads are lock-free; writes are serialised so a point is never in two cells.
+ */
+public class GeoGrid {
+
+    public record Hit(long id, double distanceKm) {
+    }
+
+    private static final Comparator<Hit> FARTHEST_FIRST = Comparator.comparingDouble(Hit::distanceKm).reversed();
+
+    // Slack for treating cell gaps as great-circle distances, which is only approximately true
+    private static final double RING_BOUND_SAFETY = 0.9;
+
+    private final double cellDegrees;
+    private final int columns;
+    private final int rows;
+
+    private final Map<Long, Set<Long>> cells = new ConcurrentHashMap<>();
+    private final Map<Long, double[]> points = new ConcurrentHashMap<>();
+
+    public GeoGrid(double cellDegrees) {
+        this.cellDegrees = cellDegrees;
+        this.columns = (int) Math.ceil(360 / cellDegrees);
+        this.rows = (int) Math.ceil(180 / cellDegrees) + 1;
+    }
+
+    public synchronized void put(long id, double lat, double lng) {
+        double[] previous = points.get(id);
+        if (previous != null) {
+            if (previous[0] == lat && previous[1] == lng) {
+                return;
+            }
+            removeFromCell(id, previous);
+        }
+        points.put(id, new double[] { lat, lng });
+        cells.computeIfAbsent(cellKey(row(lat), column(lng)), k -> ConcurrentHashMap.newKeySet()).add(id);
+    }
+
+    public synchronized void remove(long id) {
+        double[] previous = points.remove(id);
+        if (previous != null) {
+            removeFromCell(id, previous);
+        }
+    }
+
+    public synchronized void clear() {
+        points.clear();
+        cells.clear();
+    }
+
+    public int size() {
+        return points.size();
+    }
+
+    // All points within radiusKm of (lat, lng), with their exact distance
+    public List<Hit> within(double lat, double lng, double radiusKm) {
+        double latDelta = GeoUtils.latDelta(radiusKm);
+        double lngDelta = GeoUtils.lngDelta(lat, radiusKm);
+
+        int minRow = row(Math.max(-90, lat - latDelta));
+        int maxRow = row(Math.min(90, lat + latDelta));
+
+        int minCol;
+        int colSpan;
+        if (lngDelta >= 180) {
+            minCol = 0;
+            colSpan = columns;
+        } else {
+            minCol = column(lng - lngDelta);
+            colSpan = Math.min(columns, Math.floorMod(column(lng + lngDelta) - minCol, columns) + 1);
+        }
+
+        List<Hit> hits = new ArrayList<>();
+        // More cells in the box than points in the grid: checking every point is the cheaper walk
+        if ((long) (maxRow - minRow + 1) * colSpan > points.size()) {
+            for (Map.Entry<Long, double[]> entry : points.entrySet()) {
+                double[] point = entry.getValue();
+                double distance = GeoUtils.distanceKm(lat, lng, point[0], point[1]);
+                if (distance <= radiusKm) {
+                    hits.add(new Hit(entry.getKey(), distance));
+                }
+            }
+            return hits;
+        }
+        for (int r = minRow; r <= maxRow; r++) {
+            for (int i = 0; i < colSpan; i++) {
+                Set<Long> cell = cells.get(cellKey(r, (minCol + i) % columns));
+                if (cell == null) {
+                    continue;
+                }
+                for (Long id : cell) {
+                    double[] point = points.get(id);
+                    if (point == null) {
+                        continue;
+                    }
+                    double distance = GeoUtils.distanceKm(lat, lng, point[0], point[1]);
+                    if (distance <= radiusKm) {
+                        hits.add(new Hit(id, distance));
+                    }
+                }
+            }
+        }
+        return hits;
+    }
+
+    // Up to k points within maxRadiusKm that pass the filter, nearest first
+    public List<Hit> nearest(double lat, double lng, int k, double maxRadiusKm, LongPredicate filter) {
+        PriorityQueue<Hit> best = new PriorityQueue<>(k + 1, FARTHEST_FIRST);
+        if (k <= 0) {
+            return new ArrayList<>();
+        }
+
+        int centerRow = row(lat);
+        int centerColumn = column(lng);
+        int maxRowOffset = (int) Math.ceil(GeoUtils.latDelta(maxRadiusKm) / cellDegrees) + 1;
+        // Never let the column offsets wrap onto each other
+        int maxColumnOffset = (int) Math.min((columns - 1) / 2,
+                Math.ceil(GeoUtils.lngDelta(lat, maxRadiusKm) / cellDegrees) + 1);
+        int maxRing = Math.max(maxRowOffset, maxColumnOffset);
+
+        // A sparse grid and a huge radius: when too few points pass the filter the walk never stops early,
+        // so scan the points instead whenever the box has more cells than there are points
+        if ((long) (2 * maxRowOffset + 1) * (2 * maxColumnOffset + 1) > points.size()) {
+            for (Map.Entry<Long, double[]> entry : points.entrySet()) {
+                long id = entry.getKey();
+                if (filter == null || filter.test(id)) {
+                    double[] point = entry.getValue();
+                    offer(best, k, id, GeoUtils.distanceKm(lat, lng, point[0], point[1]), maxRadiusKm);
+                }
+            }
+            return nearestFirst(best);
+        }
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            if (best.size() == k && ringLowerBoundKm(lat, ring) > best.peek().distanceKm()) {
+                break;
+            }
+            for (int dr = -ring; dr <= ring; dr++) {
+                int r = centerRow + dr;
+                if (r < 0 || r >= rows || Math.abs(dr) > maxRowOffset) {
+                    continue;
+                }
+                // Top and bottom edges of the ring take every column, the sides only the two ends
+                int step = Math.abs(dr) == ring ? 1 : Math.max(1, 2 * ring);
+                for (int dc = -ring; dc <= ring; dc += step) {
+                    if (Math.abs(dc) > maxColumnOffset) {
+                        continue;
+                    }
+                    Set<Long> cell = cells.get(cellKey(r, Math.floorMod(centerColumn + dc, columns)));
+                    if (cell == null) {
+                        continue;
+                    }
+                    for (Long id : cell) {
+                        double[] point = points.get(id);
+                        if (point == null || (filter != null && !filter.test(id))) {
+                            continue;
+                        }
+                        offer(best, k, id, GeoUtils.distanceKm(lat, lng, point[0], point[1]), maxRadiusKm);
+                    }
+                }
+            }
+        }
+        return nearestFirst(best);
+    }
+
+    // Keeps the k nearest hits within maxRadiusKm, farthest on top
+    private static void offer(PriorityQueue<Hit> best, int k, long id, double distance, double maxRadiusKm) {
+        if (distance > maxRadiusKm) {
+            return;
+        }
+        if (best.size() < k) {
+            best.add(new Hit(id, distance));
+        } else if (distance < best.peek().distanceKm()) {
+            best.poll();
+            best.add(new Hit(id, distance));
+        }
+    }
+
+    private static List<Hit> nearestFirst(PriorityQueue<Hit> best) {
+        List<Hit> hits = new ArrayList<>(best);
+        hits.sort(FARTHEST_FIRST.reversed());
+        return hits;
+    }
+
+    // Every cell in the ring is at least (ring - 1) whole cells away from the query point.
+    // Longitude cells are narrowest at the ring's most poleward latitude, so measure there.
+    private double ringLowerBoundKm(double lat, int ring) {
+        if (ring <= 1) {
+            return 0;
+        }
+        double gapDegrees = (ring - 1) * cellDegrees;
+        double poleward = Math.min(90, Math.abs(lat) + ring * cellDegrees);
+        double narrowest = Math.min(1, Math.cos(Math.toRadians(poleward)));
+        return RING_BOUND_SAFETY * gapDegrees * GeoUtils.KM_PER_DEGREE_LAT * narrowest;
+    }
+
+    private void removeFromCell(long id, double[] point) {
+        long key = cellKey(row(point[0]), column(point[1]));
+        Set<Long> cell = cells.get(key);
+        if (cell != null) {
+            cell.remove(id);
+            if (cell.isEmpty()) {
+                cells.remove(key);
+            }
+        }
+    }
+
+    private int row(double lat) {
+        return (int) Math.floor((lat + 90) / cellDegrees);
+    }
+
+    private int column(double lng) {
+        return Math.floorMod((int) Math.floor((lng + 180) / cellDegrees), columns);
+    }
+
+    private long cellKey(int row, int column) {
+        return (long) row * columns + column;
+    }
+}
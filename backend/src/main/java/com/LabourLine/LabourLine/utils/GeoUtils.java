@@ -0,0 +1,48 @@
+package com.LabourLine.LabourLine.utils;
+
+public final class GeoUtils {
+
+    public static final double EARTH_RADIUS_KM = 6371;
+
+    // Largest maxDistance a client may ask for; a city-scale app has no use for more, and huge radii
+    // only make the grid searches walk empty cells
+    public static final double MAX_SEARCH_RADIUS_KM = 50;
+
+    // One degree of latitude on the sphere distanceKm measures on (about 111.195 km). Must come from the
+    // same radius, or the boxes below come out smaller than the circles they are meant to contain.
+    public static final double KM_PER_DEGREE_LAT = EARTH_RADIUS_KM * Math.PI / 180;
+
+    private GeoUtils() {
+    }
+
+    // Haversine distance between two points, in kilometres
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double latDistance = Math.toRadians(lat2 - lat1);
+        double lonDistance = Math.toRadians(lon2 - lon1);
+
+        double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
+
+        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+
+        return EARTH_RADIUS_KM * c;
+    }
+
+    // Half-height of a box that fully contains a circle of radiusKm
+    public static double latDelta(double radiusKm) {
+        return radiusKm / KM_PER_DEGREE_LAT;
+    }
+
+    // Half-width of a box that fully contains a circle of radiusKm at the given latitude. The circle is
+    // widest north or south of its centre, not at it: asin(sin d / cos lat), not d / cos lat.
+    // Once the circle reaches a pole the box covers every longitude.
+    public static double lngDelta(double lat, double radiusKm) {
+        double angular = radiusKm / EARTH_RADIUS_KM;
+        double cos = Math.cos(Math.toRadians(lat));
+        if (angular >= Math.PI / 2 || Math.sin(angular) >= cos) {
+            return 180;
+        }
+        return Math.toDegrees(Math.asin(Math.sin(angular) / cos));
+    }
+}
@@ -1,10 +1,15 @@
 package com.LabourLine.LabourLine.utils;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.stereotype.Component;
+import com.LabourLine.LabourLine.dto.AuthenticatedUser;
 import com.LabourLine.LabourLine.entity.User;
+import com.LabourLine.LabourLine.entity.type.Role;
+
+import java.security.Key;
 import java.util.Date; // Import java.util.Date correctly
 
 @Component
@@ -12,6 +17,12 @@ public class JwtUtils {
 
     private final String SECRET = "superSecretKey1234567890superSecretKey";
 
+    private final Key signingKey = Keys.hmacShaKeyFor(SECRET.getBytes());
+    // Thread-safe once built; no need to rebuild it for every token
+    private final JwtParser parser = Jwts.parserBuilder()
+            .setSigningKey(signingKey)
+            .build();
+
     public String generateToken(User user) {
         return Jwts.builder()
                 .setSubject(user.getPhoneNo())
@@ -19,26 +30,32 @@ public class JwtUtils {
                 .claim("role", user.getRole().name())
                 .setIssuedAt(new Date()) 
                 .setExpiration(new Date(System.currentTimeMillis() + 86400000))
-                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .signWith(signingKey)
                 .compact();
     }
 
     public String extractPhone(String token) {
-        return extractAllClaims(token).getSubject();
+        return parseClaims(token).getSubject();
     }
 
     // --- NEW METHOD: EXTRACT ID ---
     public Long extractId(String token) {
         // Extract the "id" claim as a Long
-        return extractAllClaims(token).get("id", Long.class);
+        return parseClaims(token).get("id", Long.class);
+    }
+
+    // Verifies the signature and expiry; throws a JwtException otherwise
+    public Claims parseClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
     }
 
-    // --- HELPER METHOD TO AVOID REPEATING PARSER LOGIC ---
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(SECRET.getBytes())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    // Principal straight from the signed claims: id and role are embedded by generateToken
+    public AuthenticatedUser toPrincipal(Claims claims) {
+        Long id = claims.get("id", Long.class);
+        String role = claims.get("role", String.class);
+        if (id == null || role == null) {
+            return null;
+        }
+        return new AuthenticatedUser(id, claims.getSubject(), Role.valueOf(role));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,168 @@
+package com.LabourLine.LabourLine.utils;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Open-addressing hash set of primitive longs (linear probing, backward-shift deletion).
+ * Ids live in a single long[] instead of one boxed Long plus a map node each,
+ * which keeps posting lists for thousands of jobs small and cache-friendly.
+ * Not thread-safe; callers guard it.
+ */
+public class LongHashSet {
+
+    private static final long EMPTY = 0L;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] keys;
+    private int mask;
+    private int size;
+    // 0 is the empty-slot marker, so it's tracked on the side
+    private boolean containsZero;
+
+    public LongHashSet() {
+        this(8);
+    }
+
+    public LongHashSet(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) * 2 - 1);
+        keys = new long[capacity];
+        mask = capacity - 1;
+    }
+
+    public LongHashSet(LongHashSet other) {
+        keys = other.keys.clone();
+        mask = other.mask;
+        size = other.size;
+        containsZero = other.containsZero;
+    }
+
+    public boolean add(long value) {
+        if (value == EMPTY) {
+            if (containsZero) {
+                return false;
+            }
+            containsZero = true;
+            size++;
+            return true;
+        }
+        int i = slot(value);
+        while (keys[i] != EMPTY) {
+            if (keys[i] == value) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = value;
+        if (++size > keys.length * LOAD_FACTOR) {
+            resize(keys.length * 2);
+        }
+        return true;
+    }
+
+    public void addAll(LongHashSet other) {
+        other.forEach(this::add);
+    }
+
+    public boolean contains(long value) {
+        if (value == EMPTY) {
+            return containsZero;
+        }
+        int i = slot(value);
+        while (keys[i] != EMPTY) {
+            if (keys[i] == value) {
+                return true;
+            }
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    public boolean remove(long value) {
+        if (value == EMPTY) {
+            if (!containsZero) {
+                return false;
+            }
+            containsZero = false;
+            size--;
+            return true;
+        }
+        int i = slot(value);
+        while (keys[i] != value) {
+            if (keys[i] == EMPTY) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = EMPTY;
+        size--;
+
+        // Pull later entries of the probe run back into the gap so lookups never stop early
+        int j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            if (keys[j] == EMPTY) {
+                return true;
+            }
+            int home = slot(keys[j]);
+            boolean homeBetween = i < j ? (i < home && home <= j) : (i < home || home <= j);
+            if (!homeBetween) {
+                keys[i] = keys[j];
+                keys[j] = EMPTY;
+                i = j;
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+        containsZero = false;
+    }
+
+    public void forEach(LongConsumer action) {
+        if (containsZero) {
+            action.accept(EMPTY);
+        }
+        for (long key : keys) {
+            if (key != EMPTY) {
+                action.accept(key);
+            }
+        }
+    }
+
+    public long[] toArray() {
+        long[] values = new long[size];
+        int[] n = { 0 };
+        forEach(value -> values[n[0]++] = value);
+        return values;
+    }
+
+    private void resize(int capacity) {
+        long[] old = keys;
+        keys = new long[capacity];
+        mask = capacity - 1;
+        for (long key : old) {
+            if (key != EMPTY) {
+                int i = slot(key);
+                while (keys[i] != EMPTY) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = key;
+            }
+        }
+    }
+
+    // Fibonacci hashing: sequential ids spread across the table instead of clustering
+    private int slot(long value) {
+        return (int) ((value * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+}
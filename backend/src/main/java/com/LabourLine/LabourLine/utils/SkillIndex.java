@@ -0,0 +1,131 @@
+package com.LabourLine.LabourLine.utils;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index from normalised skill token to the ids carrying it.
+ * Skills are free text ("Plumber, tiles & painting"), so both sides go through {@link #tokenize}.
+ */
+public class SkillIndex {
+
+    // Marks stay in the token, otherwise Devanagari skills split at every vowel sign and virama
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{M}\\p{N}]+");
+
+    private final Map<String, LongHashSet> postings = new HashMap<>();
+    private final Map<Long, Set<String>> tokensById = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Lower-cased words of at least two characters, with a plain plural 's' dropped ("painters" -> "painter")
+    public static Set<String> tokenize(String skills) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (skills == null) {
+            return tokens;
+        }
+        for (String word : SEPARATORS.split(skills.toLowerCase(Locale.ROOT))) {
+            if (word.length() > 3 && word.endsWith("s") && !word.endsWith("ss")) {
+                word = word.substring(0, word.length() - 1);
+            }
+            if (word.length() >= 2) {
+                tokens.add(word);
+            }
+        }
+        return tokens;
+    }
+
+    public void put(long id, String skills) {
+        Set<String> tokens = tokenize(skills);
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            if (tokens.isEmpty()) {
+                return;
+            }
+            tokensById.put(id, tokens);
+            for (String token : tokens) {
+                postings.computeIfAbsent(token, t -> new LongHashSet()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            tokensById.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Ids carrying at least one of the tokens (a copy, safe to use after the call)
+    public LongHashSet matchingAny(Collection<String> tokens) {
+        lock.readLock().lock();
+        try {
+            LongHashSet result = new LongHashSet();
+            for (String token : tokens) {
+                LongHashSet ids = postings.get(token);
+                if (ids != null) {
+                    result.addAll(ids);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // How many of the tokens the id carries
+    public int overlap(long id, Collection<String> tokens) {
+        lock.readLock().lock();
+        try {
+            Set<String> own = tokensById.get(id);
+            if (own == null) {
+                return 0;
+            }
+            int count = 0;
+            for (String token : tokens) {
+                if (own.contains(token)) {
+                    count++;
+                }
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeLocked(long id) {
+        Set<String> previous = tokensById.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String token : previous) {
+            LongHashSet ids = postings.get(token);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+    }
+}
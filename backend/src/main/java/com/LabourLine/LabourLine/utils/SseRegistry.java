@@ -0,0 +1,86 @@
+package com.LabourLine.LabourLine.utils;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+// Open Server-Sent Event streams grouped by key (a user id, a work id, ...).
+// Streams drop out of the registry as soon as they complete, time out or fail to send.
+public class SseRegistry<K> {
+
+    private final long timeoutMs;
+    private final Map<K, List<SseEmitter>> streams = new ConcurrentHashMap<>();
+
+    public SseRegistry(long timeoutMs) {
+        this.timeoutMs = timeoutMs;
+    }
+
+    public SseEmitter subscribe(K key) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        streams.compute(key, (k, emitters) -> {
+            List<SseEmitter> list = emitters != null ? emitters : new CopyOnWriteArrayList<>();
+            list.add(emitter);
+            return list;
+        });
+
+        emitter.onCompletion(() -> remove(key, emitter));
+        emitter.onTimeout(() -> remove(key, emitter));
+        emitter.onError(e -> remove(key, emitter));
+
+        // Flush the headers right away so the client knows the stream is live
+        send(key, emitter, SseEmitter.event().comment("connected"));
+        return emitter;
+    }
+
+    public boolean hasSubscribers(K key) {
+        return streams.containsKey(key);
+    }
+
+    public void send(K key, String eventName, Object data) {
+        List<SseEmitter> emitters = streams.get(key);
+        if (emitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : emitters) {
+            send(key, emitter, SseEmitter.event().name(eventName).data(data));
+        }
+    }
+
+    // Ends every stream under the key, e.g. when the thing being watched is finished
+    public void complete(K key) {
+        List<SseEmitter> emitters = streams.remove(key);
+        if (emitters != null) {
+            emitters.forEach(SseEmitter::complete);
+        }
+    }
+
+    // Idle connections get dropped by proxies and mobile networks; a comment line keeps them open
+    // and flushes out streams whose client has gone away.
+    public void heartbeat() {
+        streams.forEach((key, emitters) -> {
+            for (SseEmitter emitter : emitters) {
+                send(key, emitter, SseEmitter.event().comment("keep-alive"));
+            }
+        });
+    }
+
+    private void send(K key, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            remove(key, emitter);
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void remove(K key, SseEmitter emitter) {
+        streams.computeIfPresent(key, (k, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+}
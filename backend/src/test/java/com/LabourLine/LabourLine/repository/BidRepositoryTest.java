@@ -0,0 +1,86 @@
+package com.LabourLine.LabourLine.repository;
+
+import static com.LabourLine.LabourLine.repository.TestUsers.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.LabourLine.LabourLine.entity.Bid;
+import com.LabourLine.LabourLine.entity.LabourDetails;
+import com.LabourLine.LabourLine.entity.Work;
+import com.LabourLine.LabourLine.entity.type.Role;
+import com.LabourLine.LabourLine.service.BidResponseDto;
+
+import jakarta.persistence.EntityManager;
+
+@H2DataJpaTest
+class BidRepositoryTest {
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private BidRepository bidRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Test
+	void bidResponsesAreLoadedInOneQueryRegardlessOfBidCount() {
+		Work quietJob = workWithBids(1);
+		Work popularJob = workWithBids(30);
+		entityManager.flush();
+		entityManager.clear();
+
+		Statistics statistics = entityManager.getEntityManagerFactory()
+				.unwrap(SessionFactory.class)
+				.getStatistics();
+		statistics.setStatisticsEnabled(true);
+
+		statistics.clear();
+		List<BidResponseDto> quietBids = bidRepository.findResponsesByWorkId(quietJob.getId());
+		long quietQueries = statistics.getPrepareStatementCount();
+
+		statistics.clear();
+		List<BidResponseDto> popularBids = bidRepository.findResponsesByWorkId(popularJob.getId());
+		long popularQueries = statistics.getPrepareStatementCount();
+
+		assertThat(quietBids).hasSize(1);
+		assertThat(popularBids).hasSize(30);
+		assertThat(popularBids).allSatisfy(bid -> {
+			assertThat(bid.getWorkerName()).startsWith("Worker ");
+			assertThat(bid.getWorkerId()).isNotNull();
+			assertThat(bid.getStatus()).isEqualTo("PENDING");
+		});
+		assertThat(quietQueries).isEqualTo(1);
+		assertThat(popularQueries).isEqualTo(1);
+		assertThat(statistics.getEntityLoadCount()).isZero();
+	}
+
+	private Work workWithBids(int bidCount) {
+		Work work = new Work();
+		work.setEmployer(userRepository.save(user(Role.EMPLOYER, "Employer")));
+		work.setTitle("Paint the wall");
+		work.setBudget(1000.0);
+		work.setBiddingAllowed(true);
+		entityManager.persist(work);
+
+		for (int i = 0; i < bidCount; i++) {
+			LabourDetails labour = new LabourDetails();
+			labour.setUser(userRepository.save(user(Role.LABOUR, "Worker " + i)));
+			entityManager.persist(labour);
+
+			Bid bid = new Bid();
+			bid.setWork(work);
+			bid.setLabour(labour);
+			bid.setBidAmount(900.0 + i);
+			entityManager.persist(bid);
+		}
+		return work;
+	}
+}
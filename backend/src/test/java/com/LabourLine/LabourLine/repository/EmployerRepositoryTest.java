@@ -0,0 +1,65 @@
+package com.LabourLine.LabourLine.repository;
+
+import static com.LabourLine.LabourLine.repository.TestUsers.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.LabourLine.LabourLine.entity.EmployerDetails;
+import com.LabourLine.LabourLine.entity.type.Role;
+
+import jakarta.persistence.EntityManager;
+
+// reconcileSpending is Postgres UPDATE ... FROM, which H2 doesn't parse; only the increment runs here
+@H2DataJpaTest
+class EmployerRepositoryTest {
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private EmployerRepository employerRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Test
+	void spendingAccumulatesPerEmployer() {
+		EmployerDetails employer = employer("Employer");
+		EmployerDetails other = employer("Other");
+		entityManager.flush();
+
+		// Read once so the profile sits in the second-level cache
+		employerRepository.findById(employer.getId()).orElseThrow();
+
+		assertThat(employerRepository.recordSpending(employer.getUser().getId(), 1000.0)).isEqualTo(1);
+		assertThat(employerRepository.recordSpending(employer.getUser().getId(), 250.0)).isEqualTo(1);
+		entityManager.clear();
+
+		assertThat(employerRepository.findById(employer.getId()).orElseThrow().getTotalSpending())
+				.isEqualTo(1250.0);
+		assertThat(employerRepository.findById(other.getId()).orElseThrow().getTotalSpending())
+				.isZero();
+	}
+
+	@Test
+	void missingSpendingCountsFromZero() {
+		EmployerDetails employer = employer("Employer");
+		employer.setTotalSpending(null);
+		entityManager.flush();
+
+		employerRepository.recordSpending(employer.getUser().getId(), 400.0);
+		entityManager.clear();
+
+		assertThat(employerRepository.findById(employer.getId()).orElseThrow().getTotalSpending())
+				.isEqualTo(400.0);
+	}
+
+	private EmployerDetails employer(String name) {
+		EmployerDetails employer = new EmployerDetails();
+		employer.setUser(userRepository.save(user(Role.EMPLOYER, name)));
+		entityManager.persist(employer);
+		return employer;
+	}
+}
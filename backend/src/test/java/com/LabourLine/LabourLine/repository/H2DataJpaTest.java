@@ -0,0 +1,16 @@
+package com.LabourLine.LabourLine.repository;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+
+// @DataJpaTest on the embedded H2 database. application.yml pins the Postgres dialect, which would
+// otherwise be kept for H2.
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+public @interface H2DataJpaTest {
+}
@@ -0,0 +1,79 @@
+package com.LabourLine.LabourLine.repository;
+
+import static com.LabourLine.LabourLine.repository.TestUsers.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.LabourLine.LabourLine.entity.LabourDetails;
+import com.LabourLine.LabourLine.entity.User;
+import com.LabourLine.LabourLine.entity.type.Role;
+
+import jakarta.persistence.EntityManager;
+
+// reconcileJobStats is Postgres UPDATE ... FROM, which H2 doesn't parse; only the increments run here
+@H2DataJpaTest
+class LabourRepositoryTest {
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private LabourRepository labourRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Test
+	void aCompletedJobAddsOneJobAndItsPriceToThatLabourerOnly() {
+		LabourDetails worker = labourer("Worker");
+		LabourDetails other = labourer("Other");
+		entityManager.flush();
+
+		// Read once so the profile sits in the second-level cache
+		labourRepository.findById(worker.getId()).orElseThrow();
+
+		assertThat(labourRepository.recordCompletedJob(worker.getUser().getId(), 800.0)).isEqualTo(1);
+		assertThat(labourRepository.recordCompletedJob(worker.getUser().getId(), 450.5)).isEqualTo(1);
+		entityManager.clear();
+
+		LabourDetails updated = labourRepository.findById(worker.getId()).orElseThrow();
+		assertThat(updated.getJobsDone()).isEqualTo(2);
+		assertThat(updated.getTotalEarnings()).isEqualTo(1250.5);
+
+		LabourDetails untouched = labourRepository.findById(other.getId()).orElseThrow();
+		assertThat(untouched.getJobsDone()).isZero();
+		assertThat(untouched.getTotalEarnings()).isZero();
+	}
+
+	@Test
+	void missingTotalsCountFromZero() {
+		LabourDetails worker = labourer("Worker");
+		worker.setJobsDone(null);
+		worker.setTotalEarnings(null);
+		entityManager.flush();
+
+		labourRepository.recordCompletedJob(worker.getUser().getId(), 300.0);
+		entityManager.clear();
+
+		LabourDetails updated = labourRepository.findById(worker.getId()).orElseThrow();
+		assertThat(updated.getJobsDone()).isEqualTo(1);
+		assertThat(updated.getTotalEarnings()).isEqualTo(300.0);
+	}
+
+	@Test
+	void aUserWithoutALabourProfileUpdatesNothing() {
+		User employer = userRepository.save(user(Role.EMPLOYER, "Employer"));
+		entityManager.flush();
+
+		assertThat(labourRepository.recordCompletedJob(employer.getId(), 300.0)).isZero();
+	}
+
+	private LabourDetails labourer(String name) {
+		LabourDetails labour = new LabourDetails();
+		labour.setUser(userRepository.save(user(Role.LABOUR, name)));
+		entityManager.persist(labour);
+		return labour;
+	}
+}
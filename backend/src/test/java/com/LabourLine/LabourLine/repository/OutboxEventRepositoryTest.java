@@ -0,0 +1,61 @@
+package com.LabourLine.LabourLine.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+
+import com.LabourLine.LabourLine.entity.OutboxEvent;
+import com.LabourLine.LabourLine.service.WorkEvent;
+
+import jakarta.persistence.EntityManager;
+
+@H2DataJpaTest
+class OutboxEventRepositoryTest {
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private OutboxEventRepository outboxEventRepository;
+
+	@Test
+	void pendingEventsComeOldestFirstUntilMarkedProcessed() {
+		OutboxEvent first = outboxEventRepository.save(OutboxEvent.of(WorkEvent.of(WorkEvent.Type.WORK_ACCEPTED, 1L, 10L)));
+		OutboxEvent second = outboxEventRepository.save(OutboxEvent.of(new WorkEvent(WorkEvent.Type.BID_PLACED, 2L, 20L, 5L)));
+		OutboxEvent third = outboxEventRepository.save(OutboxEvent.of(WorkEvent.of(WorkEvent.Type.WORK_COMPLETED, 3L, 30L)));
+		entityManager.flush();
+
+		List<OutboxEvent> batch = outboxEventRepository.findPending(Limit.of(2));
+		assertThat(batch).extracting(OutboxEvent::getId).containsExactly(first.getId(), second.getId());
+		assertThat(batch.get(1).toEvent()).isEqualTo(new WorkEvent(WorkEvent.Type.BID_PLACED, 2L, 20L, 5L));
+
+		outboxEventRepository.markProcessed(List.of(first.getId(), second.getId()), LocalDateTime.now());
+		entityManager.clear();
+
+		assertThat(outboxEventRepository.findPending(Limit.of(10)))
+				.extracting(OutboxEvent::getId)
+				.containsExactly(third.getId());
+	}
+
+	@Test
+	void failuresAreCountedAndProcessedEventsPurged() {
+		OutboxEvent event = outboxEventRepository.save(OutboxEvent.of(WorkEvent.of(WorkEvent.Type.BID_REJECTED, 1L, 10L)));
+		entityManager.flush();
+
+		outboxEventRepository.recordFailure(event.getId(), "IllegalStateException: stream closed");
+		outboxEventRepository.recordFailure(event.getId(), "IllegalStateException: stream closed");
+		entityManager.clear();
+
+		OutboxEvent failed = outboxEventRepository.findById(event.getId()).orElseThrow();
+		assertThat(failed.getAttempts()).isEqualTo(2);
+		assertThat(failed.getLastError()).contains("stream closed");
+
+		outboxEventRepository.markProcessed(List.of(event.getId()), LocalDateTime.now().minusDays(8));
+		assertThat(outboxEventRepository.deleteProcessedBefore(LocalDateTime.now().minusDays(7))).isEqualTo(1);
+	}
+}
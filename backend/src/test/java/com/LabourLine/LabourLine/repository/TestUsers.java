@@ -0,0 +1,20 @@
+package com.LabourLine.LabourLine.repository;
+
+import com.LabourLine.LabourLine.entity.User;
+import com.LabourLine.LabourLine.entity.type.Role;
+
+// Unsaved users for JPA tests; phone numbers are unique per call
+public final class TestUsers {
+
+	private TestUsers() {
+	}
+
+	public static User user(Role role, String name) {
+		User user = new User();
+		user.setName(name);
+		user.setPhoneNo(String.valueOf(System.nanoTime()));
+		user.setRole(role);
+		user.setPassword("secret");
+		return user;
+	}
+}
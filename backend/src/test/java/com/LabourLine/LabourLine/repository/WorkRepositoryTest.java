@@ -0,0 +1,93 @@
+package com.LabourLine.LabourLine.repository;
+
+import static com.LabourLine.LabourLine.repository.TestUsers.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.LabourLine.LabourLine.entity.User;
+import com.LabourLine.LabourLine.entity.Work;
+import com.LabourLine.LabourLine.entity.type.Role;
+import com.LabourLine.LabourLine.entity.type.WorkStatus;
+
+@H2DataJpaTest
+// Every accept must commit on its own for the race to be real
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class WorkRepositoryTest {
+
+	private static final int LABOURERS = 300;
+	private static final int THREADS = 32;
+
+	@Autowired
+	private WorkRepository workRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Test
+	void concurrentAcceptsHaveExactlyOneWinner() throws Exception {
+		Work work = new Work();
+		work.setEmployer(userRepository.save(user(Role.EMPLOYER, "Employer")));
+		work.setTitle("Carry bricks");
+		work.setBudget(500.0);
+		Long workId = workRepository.save(work).getId();
+
+		List<User> labourers = new ArrayList<>();
+		for (int i = 0; i < LABOURERS; i++) {
+			labourers.add(userRepository.save(user(Role.LABOUR, "Worker " + i)));
+		}
+
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<Boolean>> attempts = new ArrayList<>();
+		try {
+			for (User labourer : labourers) {
+				attempts.add(pool.submit(() -> {
+					start.await();
+					return workRepository.assignIfOpen(workId, labourer);
+				}));
+			}
+			start.countDown();
+
+			List<User> winners = new ArrayList<>();
+			for (int i = 0; i < attempts.size(); i++) {
+				if (attempts.get(i).get(30, TimeUnit.SECONDS)) {
+					winners.add(labourers.get(i));
+				}
+			}
+
+			assertThat(winners).hasSize(1);
+			Work accepted = workRepository.findById(workId).orElseThrow();
+			assertThat(accepted.getStatus()).isEqualTo(WorkStatus.ACCEPTED);
+			assertThat(accepted.getAcceptedLabour().getId()).isEqualTo(winners.get(0).getId());
+			assertThat(accepted.getVersion()).isEqualTo(1L);
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	@Test
+	void acceptFailsOnceTheJobIsTaken() {
+		Work work = new Work();
+		work.setEmployer(userRepository.save(user(Role.EMPLOYER, "Employer")));
+		work.setTitle("Fix the tap");
+		Long workId = workRepository.save(work).getId();
+
+		User first = userRepository.save(user(Role.LABOUR, "First"));
+		User second = userRepository.save(user(Role.LABOUR, "Second"));
+
+		assertThat(workRepository.assignIfOpen(workId, first)).isTrue();
+		assertThat(workRepository.assignIfOpen(workId, second)).isFalse();
+	}
+}
@@ -0,0 +1,80 @@
+package com.LabourLine.LabourLine.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import com.LabourLine.LabourLine.repository.LabourLocationRepository;
+import com.LabourLine.LabourLine.repository.LabourRepository;
+
+class LiveLocationStoreTest {
+
+	private JdbcTemplate jdbcTemplate;
+	private LabourRepository labourRepository;
+	private LiveLocationStore store;
+
+	@BeforeEach
+	void setUp() {
+		jdbcTemplate = mock(JdbcTemplate.class);
+		labourRepository = mock(LabourRepository.class);
+		// User id n has labour profile n in these tests
+		when(labourRepository.findIdByUserId(anyLong()))
+				.thenAnswer(invocation -> Optional.of(invocation.getArgument(0)));
+		store = new LiveLocationStore(jdbcTemplate, labourRepository, mock(LabourLocationRepository.class));
+	}
+
+	@Test
+	void aRowThatCanNeverBeWrittenIsDroppedWithoutBlockingTheOthers() {
+		when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(),
+				any(ParameterizedPreparedStatementSetter.class)))
+				.thenThrow(new DataIntegrityViolationException("labour_location_labour_id_fkey"));
+		when(jdbcTemplate.update(anyString(), eq(2L), any(), any(), any()))
+				.thenThrow(new DataIntegrityViolationException("labour_location_labour_id_fkey"));
+
+		store.update(1L, 18.52, 73.85);
+		store.update(2L, 18.53, 73.86);
+		store.flush();
+		store.flush();
+
+		verify(jdbcTemplate).update(anyString(), eq(1L), any(), any(), any());
+		verify(jdbcTemplate, times(1)).update(anyString(), eq(2L), any(), any(), any());
+
+		// The dropped labourer's profile is checked again on their next tick
+		store.update(2L, 18.54, 73.87);
+		verify(labourRepository, times(2)).findIdByUserId(2L);
+		verify(labourRepository, times(1)).findIdByUserId(1L);
+	}
+
+	@Test
+	void positionsThatKeepFailingAreRetriedAFixedNumberOfTimes() {
+		when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(),
+				any(ParameterizedPreparedStatementSetter.class)))
+				.thenThrow(new DataAccessResourceFailureException("connection refused"));
+		when(jdbcTemplate.update(anyString(), any(), any(), any(), any()))
+				.thenThrow(new DataAccessResourceFailureException("connection refused"));
+
+		store.update(1L, 18.52, 73.85);
+		for (int i = 0; i < 10; i++) {
+			store.flush();
+		}
+
+		verify(jdbcTemplate, times(5)).batchUpdate(anyString(), anyCollection(), anyInt(),
+				any(ParameterizedPreparedStatementSetter.class));
+	}
+}
@@ -0,0 +1,170 @@
+package com.LabourLine.LabourLine.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.LabourLine.LabourLine.controller.LabourController;
+import com.LabourLine.LabourLine.dto.ActiveWorkView;
+import com.LabourLine.LabourLine.dto.AuthenticatedUser;
+import com.LabourLine.LabourLine.dto.LiveLocation;
+import com.LabourLine.LabourLine.dto.PersonView;
+import com.LabourLine.LabourLine.dto.WorkSummaryView;
+import com.LabourLine.LabourLine.entity.type.Role;
+import com.LabourLine.LabourLine.entity.type.WorkAcceptedStatus;
+import com.LabourLine.LabourLine.entity.type.WorkStatus;
+import com.LabourLine.LabourLine.repository.BidRepository;
+import com.LabourLine.LabourLine.repository.LabourLocationRepository;
+import com.LabourLine.LabourLine.repository.LabourRepository;
+import com.LabourLine.LabourLine.repository.UserRepository;
+import com.LabourLine.LabourLine.repository.WorkAcceptedRepository;
+import com.LabourLine.LabourLine.repository.WorkRepository;
+
+class LiveTrackingTest {
+
+	private static final long WORK_ID = 5L;
+	private static final long EMPLOYER_ID = 1L;
+	private static final long LABOUR_USER_ID = 7L;
+	private static final long LABOUR_PROFILE_ID = 70L;
+
+	private final LiveTrackingHub hub = new LiveTrackingHub();
+	private MockMvc mockMvc;
+
+	@RestController
+	static class TrackingController {
+
+		private final EmployerService employerService;
+
+		TrackingController(EmployerService employerService) {
+			this.employerService = employerService;
+		}
+
+		@GetMapping("/track/{workId}")
+		SseEmitter track(@PathVariable Long workId) {
+			return employerService.trackWork(workId, EMPLOYER_ID);
+		}
+	}
+
+	@BeforeEach
+	void setUp() {
+		WorkAcceptedRepository workAcceptedRepository = mock(WorkAcceptedRepository.class);
+		when(workAcceptedRepository.findViewByWorkId(WORK_ID)).thenReturn(Optional.of(new ActiveWorkView(3L,
+				new WorkSummaryView(WORK_ID, "Paint the wall", "", 1000.0, "Pune", 18.5, 73.8, WorkStatus.ACCEPTED,
+						EMPLOYER_ID, "Employer", "9000000001"),
+				new PersonView(LABOUR_USER_ID, "Worker", "9000000002"),
+				LocalDateTime.now(), WorkAcceptedStatus.ACCEPTED, LABOUR_PROFILE_ID)));
+
+		LabourRepository labourRepository = mock(LabourRepository.class);
+		when(labourRepository.findIdByUserId(LABOUR_USER_ID)).thenReturn(Optional.of(LABOUR_PROFILE_ID));
+		LiveLocationStore liveLocationStore = new LiveLocationStore(mock(JdbcTemplate.class), labourRepository,
+				mock(LabourLocationRepository.class));
+
+		EmployerService employerService = new EmployerService();
+		ReflectionTestUtils.setField(employerService, "workAcceptedRepository", workAcceptedRepository);
+		ReflectionTestUtils.setField(employerService, "liveLocationStore", liveLocationStore);
+		ReflectionTestUtils.setField(employerService, "liveTrackingHub", hub);
+
+		LabourService labourService = new LabourService(labourRepository, mock(UserRepository.class),
+				mock(WorkRepository.class), workAcceptedRepository, mock(OpenWorkIndex.class), liveLocationStore);
+		ReflectionTestUtils.setField(labourService, "liveTrackingHub", hub);
+		LabourController labourController = new LabourController(labourService, mock(UserRepository.class),
+				workAcceptedRepository, mock(BidRepository.class), mock(WorkEventHub.class),
+				mock(WorkRecommendationService.class));
+
+		mockMvc = MockMvcBuilders.standaloneSetup(new TrackingController(employerService), labourController)
+				.setCustomArgumentResolvers(new AuthenticationPrincipalArgumentResolver())
+				.build();
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void aTickPostedByTheHiredLabourerReachesTheWorkStream() throws Exception {
+		MvcResult stream = mockMvc.perform(get("/track/" + WORK_ID))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		// What the app sends: its JWT's User id, not the labour profile id
+		signInAs(LABOUR_USER_ID);
+		mockMvc.perform(post("/labour/update-location").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"labourId\":" + LABOUR_USER_ID + ",\"latitude\":18.5204,\"longitude\":73.8567}"))
+				.andExpect(status().isOk());
+
+		assertThat(stream.getResponse().getContentAsString()).contains("event:LOCATION").contains("18.5204");
+	}
+
+	@Test
+	void aLabourerCannotMoveSomeoneElse() throws Exception {
+		MvcResult stream = mockMvc.perform(get("/track/" + WORK_ID))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		signInAs(99L);
+		mockMvc.perform(post("/labour/update-location").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"labourId\":" + LABOUR_USER_ID + ",\"latitude\":12.9716,\"longitude\":77.5946}"))
+				.andExpect(status().isForbidden());
+
+		assertThat(stream.getResponse().getContentAsString()).doesNotContain("12.9716");
+	}
+
+	private static void signInAs(long userId) {
+		AuthenticatedUser principal = new AuthenticatedUser(userId, "900000000" + userId, Role.LABOUR);
+		SecurityContextHolder.getContext()
+				.setAuthentication(new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+	}
+
+	@Test
+	void ticksFromTheAssignedLabourerReachTheWorkStream() throws Exception {
+		MvcResult stream = mockMvc.perform(get("/track/" + WORK_ID))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		// Locations are keyed by the labour profile id; the User id belongs to someone else's profile
+		hub.publish(new LiveLocation(LABOUR_PROFILE_ID, 18.5204, 73.8567, LocalDateTime.now()));
+		hub.publish(new LiveLocation(LABOUR_USER_ID, 12.9716, 77.5946, LocalDateTime.now()));
+
+		String body = stream.getResponse().getContentAsString();
+		assertThat(body).contains("event:LOCATION").contains("18.5204");
+		assertThat(body).doesNotContain("12.9716");
+	}
+
+	@Test
+	void completingTheWorkEndsTheStream() throws Exception {
+		MvcResult stream = mockMvc.perform(get("/track/" + WORK_ID))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		hub.handle(WorkEvent.of(WorkEvent.Type.WORK_COMPLETED, LABOUR_USER_ID, WORK_ID));
+		hub.publish(new LiveLocation(LABOUR_PROFILE_ID, 18.5204, 73.8567, LocalDateTime.now()));
+
+		assertThat(stream.getResponse().getContentAsString()).doesNotContain("18.5204");
+	}
+}
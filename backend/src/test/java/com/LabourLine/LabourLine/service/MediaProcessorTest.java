@@ -0,0 +1,73 @@
+package com.LabourLine.LabourLine.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.LabourLine.LabourLine.repository.WorkRepository;
+
+class MediaProcessorTest {
+
+	private final CountDownLatch release = new CountDownLatch(1);
+	private MediaProcessor processor;
+
+	@BeforeEach
+	void setUp() {
+		MediaStorage mediaStorage = mock(MediaStorage.class);
+		// Park the only worker so the queue fills up
+		when(mediaStorage.resolve(anyString())).thenAnswer(invocation -> {
+			release.await();
+			return null;
+		});
+		processor = new MediaProcessor(mediaStorage, mock(WorkRepository.class), mock(OpenWorkSnapshot.class), 1, 1);
+	}
+
+	@AfterEach
+	void tearDown() {
+		release.countDown();
+		processor.shutdown();
+	}
+
+	@Test
+	void aThumbnailTheQueueRejectsIsNotAdvertised() {
+		assertThat(processor.scheduleThumbnail("a.jpg", "/files/a.jpg")).isEqualTo("/files/a_thumb.jpg");
+		assertThat(processor.scheduleThumbnail("b.jpg", "/files/b.jpg")).isEqualTo("/files/b_thumb.jpg");
+		assertThat(processor.scheduleThumbnail("c.jpg", "/files/c.jpg")).isNull();
+	}
+
+	@Test
+	void nonImagesGetNoThumbnail() {
+		assertThat(processor.scheduleThumbnail("voice.mp3", "/files/voice.mp3")).isNull();
+	}
+
+	@Test
+	void aThumbnailFinishedDuringThePostIsAttachedToTheCommittedJob() {
+		MediaStorage mediaStorage = mock(MediaStorage.class);
+		WorkRepository workRepository = mock(WorkRepository.class);
+		OpenWorkSnapshot openWorkSnapshot = mock(OpenWorkSnapshot.class);
+		MediaProcessor ready = new MediaProcessor(mediaStorage, workRepository, openWorkSnapshot, 1, 1);
+		try {
+			when(mediaStorage.resolve("a_thumb.jpg")).thenReturn(Path.of("a_thumb.jpg"));
+
+			assertThat(ready.attachThumbnailIfReady("/files/a.jpg")).isEqualTo("/files/a_thumb.jpg");
+			verify(workRepository).setThumbnailForImage("/files/a.jpg", "/files/a_thumb.jpg");
+			verify(openWorkSnapshot).setThumbnailForImage("/files/a.jpg", "/files/a_thumb.jpg");
+
+			assertThat(ready.attachThumbnailIfReady("/files/b.jpg")).isNull();
+			verify(workRepository, never()).setThumbnailForImage(any(), any());
+		} finally {
+			ready.shutdown();
+		}
+	}
+}
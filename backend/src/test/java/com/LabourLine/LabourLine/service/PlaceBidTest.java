@@ -0,0 +1,172 @@
+package com.LabourLine.LabourLine.service;
+
+import static com.LabourLine.LabourLine.repository.TestUsers.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.LabourLine.LabourLine.config.PendingBidIndexInitializer;
+import com.LabourLine.LabourLine.controller.LabourController;
+import com.LabourLine.LabourLine.dto.BidRequest;
+import com.LabourLine.LabourLine.entity.Bid;
+import com.LabourLine.LabourLine.entity.LabourDetails;
+import com.LabourLine.LabourLine.entity.User;
+import com.LabourLine.LabourLine.entity.Work;
+import com.LabourLine.LabourLine.entity.type.Role;
+import com.LabourLine.LabourLine.repository.BidRepository;
+import com.LabourLine.LabourLine.repository.H2DataJpaTest;
+import com.LabourLine.LabourLine.repository.LabourRepository;
+import com.LabourLine.LabourLine.repository.UserRepository;
+import com.LabourLine.LabourLine.repository.WorkAcceptedRepository;
+import com.LabourLine.LabourLine.repository.WorkRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@H2DataJpaTest
+@Import(LabourService.class)
+// Each placeBid commits on its own, as it does behind the controller
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PlaceBidTest {
+
+	@MockitoBean
+	private OpenWorkIndex openWorkIndex;
+	@MockitoBean
+	private LiveLocationStore liveLocationStore;
+	@MockitoBean
+	private LiveTrackingHub liveTrackingHub;
+	@MockitoBean
+	private LabourLocator labourLocator;
+	@MockitoBean
+	private ProfileCache profileCache;
+
+	@Autowired
+	private LabourService labourService;
+	@Autowired
+	private UserRepository userRepository;
+	@Autowired
+	private LabourRepository labourRepository;
+	@Autowired
+	private WorkRepository workRepository;
+	@Autowired
+	private BidRepository bidRepository;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Work work;
+	private User labourer;
+
+	@BeforeEach
+	void setUp() {
+		// H2 has no partial indexes. A unique index over a column that is only non-null for PENDING bids
+		// behaves the same (NULLs never collide) and carries the same name for placeBid to recognise.
+		jdbcTemplate.execute("ALTER TABLE bids ADD COLUMN IF NOT EXISTS pending_slot INT "
+				+ "GENERATED ALWAYS AS (CASE WHEN status = 'PENDING' THEN 1 END)");
+		jdbcTemplate.execute("CREATE UNIQUE INDEX IF NOT EXISTS " + PendingBidIndexInitializer.INDEX_NAME
+				+ " ON bids (work_id, labour_id, pending_slot)");
+
+		work = new Work();
+		work.setEmployer(userRepository.save(user(Role.EMPLOYER, "Employer")));
+		work.setTitle("Paint the wall");
+		work.setBudget(1000.0);
+		work.setBiddingAllowed(true);
+		work = workRepository.save(work);
+
+		labourer = userRepository.save(user(Role.LABOUR, "Bidder"));
+		LabourDetails profile = new LabourDetails();
+		profile.setUser(labourer);
+		labourRepository.save(profile);
+	}
+
+	@Test
+	void aBidIsTwoNarrowReadsAndOneInsert() {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.setStatisticsEnabled(true);
+		statistics.clear();
+
+		BidResponseDto bid = labourService.placeBid(bid(950.0, "Can start today"));
+
+		assertThat(bid.getId()).isNotNull();
+		assertThat(bid.getWorkerName()).isEqualTo("Bidder");
+		assertThat(bid.getStatus()).isEqualTo("PENDING");
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+		assertThat(statistics.getEntityLoadCount()).isZero();
+	}
+
+	@Test
+	void aSecondPendingBidOnTheSameJobIsAConflict() {
+		labourService.placeBid(bid(950.0, null));
+
+		assertThatThrownBy(() -> labourService.placeBid(bid(900.0, null)))
+				.isInstanceOf(WorkConflictException.class)
+				.hasMessageContaining("already placed a bid");
+		assertThat(bidRepository.findResponsesByWorkId(work.getId())).hasSize(1);
+	}
+
+	@Test
+	void rejectedAndAcceptedBidsDoNotBlockBiddingAgain() {
+		setStatus(labourService.placeBid(bid(950.0, null)).getId(), "REJECTED");
+		setStatus(labourService.placeBid(bid(900.0, null)).getId(), "ACCEPTED");
+		labourService.placeBid(bid(850.0, null));
+
+		assertThat(bidRepository.findResponsesByWorkId(work.getId()))
+				.extracting(BidResponseDto::getStatus)
+				.containsExactly("REJECTED", "ACCEPTED", "PENDING");
+	}
+
+	@Test
+	void otherIntegrityErrorsAreNotReportedAsDuplicates() {
+		// bids.comment is varchar(255)
+		assertThatThrownBy(() -> labourService.placeBid(bid(950.0, "x".repeat(300))))
+				.isInstanceOf(DataIntegrityViolationException.class)
+				.isNotInstanceOf(WorkConflictException.class);
+	}
+
+	@Test
+	void theControllerAnswersADuplicateBidWith409() throws Exception {
+		MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new LabourController(labourService,
+				userRepository, mock(WorkAcceptedRepository.class), bidRepository, mock(WorkEventHub.class),
+				mock(WorkRecommendationService.class))).build();
+		String body = "{\"workId\":" + work.getId() + ",\"labourId\":" + labourer.getId() + ",\"bidAmount\":950}";
+
+		mockMvc.perform(post("/labour/bid").contentType(MediaType.APPLICATION_JSON).content(body))
+				.andExpect(status().isOk());
+		mockMvc.perform(post("/labour/bid").contentType(MediaType.APPLICATION_JSON).content(body))
+				.andExpect(status().isConflict())
+				.andExpect(content().string("You have already placed a bid on this job."));
+	}
+
+	private BidRequest bid(double amount, String comment) {
+		BidRequest request = new BidRequest();
+		request.setWorkId(work.getId());
+		request.setLabourId(labourer.getId());
+		request.setBidAmount(amount);
+		request.setComment(comment);
+		return request;
+	}
+
+	private void setStatus(Long bidId, String status) {
+		Bid bid = bidRepository.findById(bidId).orElseThrow();
+		bid.setStatus(status);
+		bidRepository.save(bid);
+	}
+}
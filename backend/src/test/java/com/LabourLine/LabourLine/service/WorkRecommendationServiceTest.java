@@ -0,0 +1,82 @@
+package com.LabourLine.LabourLine.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.LabourLine.LabourLine.service.WorkRecommendationService.Scored;
+
+class WorkRecommendationServiceTest {
+
+	private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 10, 12, 0);
+
+	@Test
+	void topKMatchesAFullSortOfRandomCandidates() {
+		Random random = new Random(42);
+		List<Scored> candidates = new ArrayList<>();
+		for (long id = 1; id <= 5_000; id++) {
+			// Coarse scores so plenty of them tie
+			candidates.add(new Scored(id, random.nextDouble() * 20, random.nextInt(50) / 50.0));
+		}
+
+		List<Scored> expected = new ArrayList<>(candidates);
+		expected.sort(Comparator.comparingDouble(Scored::score).thenComparingLong(Scored::workId).reversed());
+
+		assertThat(WorkRecommendationService.topK(candidates, 25)).containsExactlyElementsOf(expected.subList(0, 25));
+	}
+
+	@Test
+	void tiesGoToTheNewerJob() {
+		List<Scored> ranked = WorkRecommendationService.topK(List.of(
+				new Scored(3, 1.0, 0.5),
+				new Scored(9, 2.0, 0.5),
+				new Scored(5, 3.0, 0.5),
+				new Scored(1, 4.0, 0.7)), 3);
+
+		assertThat(ranked).extracting(Scored::workId).containsExactly(1L, 9L, 5L);
+	}
+
+	@Test
+	void limitLargerThanTheCandidatesReturnsThemAllBestFirst() {
+		List<Scored> ranked = WorkRecommendationService.topK(List.of(
+				new Scored(1, 1.0, 0.2),
+				new Scored(2, 1.0, 0.9),
+				new Scored(3, 1.0, 0.4)), 100);
+
+		assertThat(ranked).extracting(Scored::workId).containsExactly(2L, 3L, 1L);
+		assertThat(WorkRecommendationService.topK(List.of(), 10)).isEmpty();
+	}
+
+	@Test
+	void jobsWithoutBudgetOrCreatedAtScoreNoPayAndNeutralFreshness() {
+		double noFacts = WorkRecommendationService.score(0, 10, 0, null, NOW);
+		double emptyFacts = WorkRecommendationService.score(0, 10, 0, new OpenWorkIndex.Facts(null, null), NOW);
+
+		// Distance 1.0 * 0.35 + freshness 0.5 * 0.15
+		assertThat(noFacts).isCloseTo(0.425, within(1e-9));
+		assertThat(emptyFacts).isCloseTo(0.425, within(1e-9));
+	}
+
+	@Test
+	void closerBetterPaidFresherSkilledJobsScoreHigher() {
+		OpenWorkIndex.Facts fresh = new OpenWorkIndex.Facts(1000.0, NOW);
+		OpenWorkIndex.Facts stale = new OpenWorkIndex.Facts(1000.0, NOW.minusDays(4));
+
+		assertThat(WorkRecommendationService.score(1, 10, 0, fresh, NOW))
+				.isGreaterThan(WorkRecommendationService.score(5, 10, 0, fresh, NOW));
+		assertThat(WorkRecommendationService.score(1, 10, 1, fresh, NOW))
+				.isGreaterThan(WorkRecommendationService.score(1, 10, 0, fresh, NOW));
+		assertThat(WorkRecommendationService.score(1, 10, 0, fresh, NOW))
+				.isGreaterThan(WorkRecommendationService.score(1, 10, 0, stale, NOW));
+		// Pay reaches half its weight at the half point budget
+		assertThat(WorkRecommendationService.score(10, 10, 0, new OpenWorkIndex.Facts(1000.0, null), NOW))
+				.isCloseTo(0.15 * 0.5 + 0.15 * 0.5, within(1e-9));
+	}
+}
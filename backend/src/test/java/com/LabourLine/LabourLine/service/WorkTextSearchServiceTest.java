@@ -0,0 +1,54 @@
+package com.LabourLine.LabourLine.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class WorkTextSearchServiceTest {
+
+	@Test
+	void wordsBecomeLowerCasePrefixTermsThatAllMustMatch() {
+		assertThat(WorkTextSearchService.toPrefixQuery("Tile  work")).isEqualTo("tile:* & work:*");
+	}
+
+	@Test
+	void punctuationAndTsquerySyntaxOnlySeparateWords() {
+		assertThat(WorkTextSearchService.toPrefixQuery("Tile-work!")).isEqualTo("tile:* & work:*");
+		assertThat(WorkTextSearchService.toPrefixQuery("paint & (wall | !roof):*"))
+				.isEqualTo("paint:* & wall:* & roof:*");
+		assertThat(WorkTextSearchService.toPrefixQuery("o'brien's 2nd-floor"))
+				.isEqualTo("o:* & brien:* & s:* & 2nd:* & floor:*");
+	}
+
+	@Test
+	void nonLatinWordsStayWhole() {
+		// "Platrier Nandu" with a circumflex, tilde and acute
+		assertThat(WorkTextSearchService.toPrefixQuery("Pl\u00e2trier \u00d1and\u00fa"))
+				.isEqualTo("pl\u00e2trier:* & \u00f1and\u00fa:*");
+		// "plumber needed" in Hindi: Devanagari vowel signs and viramas are combining marks, not letters
+		assertThat(WorkTextSearchService.toPrefixQuery(
+				"\u092a\u094d\u0932\u0902\u092c\u0930 \u091a\u093e\u0939\u093f\u090f"))
+				.isEqualTo("\u092a\u094d\u0932\u0902\u092c\u0930:* & \u091a\u093e\u0939\u093f\u090f:*");
+	}
+
+	@Test
+	void nothingToSearchForIsNull() {
+		assertThat(WorkTextSearchService.toPrefixQuery(null)).isNull();
+		assertThat(WorkTextSearchService.toPrefixQuery("")).isNull();
+		assertThat(WorkTextSearchService.toPrefixQuery("   \t ")).isNull();
+		assertThat(WorkTextSearchService.toPrefixQuery("!?&|:*()")).isNull();
+	}
+
+	@Test
+	void onlyTheFirstMaxTermsWordsAreKept() {
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < WorkTextSearchService.MAX_TERMS + 5; i++) {
+			text.append("w").append(i).append(' ');
+		}
+
+		String query = WorkTextSearchService.toPrefixQuery(text.toString());
+
+		assertThat(query.split(" & ")).hasSize(WorkTextSearchService.MAX_TERMS);
+		assertThat(query).startsWith("w0:* & w1:*").endsWith("w" + (WorkTextSearchService.MAX_TERMS - 1) + ":*");
+	}
+}
@@ -0,0 +1,87 @@
+package com.LabourLine.LabourLine.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+class GeoGridTest {
+
+	@Test
+	void nearestMatchesABruteForceScan() {
+		Random random = new Random(7);
+		for (int round = 0; round < 100; round++) {
+			GeoGrid grid = new GeoGrid(0.01);
+			// Every tenth round sits on the antimeridian to exercise column wrap-around
+			double centreLat = random.nextDouble() * 160 - 80;
+			double centreLng = round % 10 == 0 ? 179.99 : random.nextDouble() * 360 - 180;
+			List<double[]> points = new ArrayList<>();
+			for (int id = 0; id < 1000; id++) {
+				double lat = centreLat + random.nextGaussian() * 0.2;
+				double lng = centreLng + random.nextGaussian() * 0.2;
+				lng = lng > 180 ? lng - 360 : lng;
+				points.add(new double[] { lat, lng });
+				grid.put(id, lat, lng);
+			}
+
+			double radiusKm = 5 + random.nextDouble() * 30;
+			int k = 1 + random.nextInt(15);
+			List<GeoGrid.Hit> hits = grid.nearest(centreLat, centreLng, k, radiusKm, id -> id % 3 != 0);
+
+			List<Double> expected = new ArrayList<>();
+			for (int id = 0; id < points.size(); id++) {
+				double distance = GeoUtils.distanceKm(centreLat, centreLng, points.get(id)[0], points.get(id)[1]);
+				if (id % 3 != 0 && distance <= radiusKm) {
+					expected.add(distance);
+				}
+			}
+			Collections.sort(expected);
+
+			assertThat(hits.stream().map(GeoGrid.Hit::distanceKm).toList())
+					.containsExactlyElementsOf(expected.subList(0, Math.min(k, expected.size())));
+		}
+	}
+
+	@Test
+	@Timeout(5)
+	void aWorldWideSearchOnASparseGridScansThePointsInsteadOfTheCells() {
+		Random random = new Random(11);
+		GeoGrid grid = new GeoGrid(0.01);
+		List<double[]> points = new ArrayList<>();
+		for (int id = 0; id < 200; id++) {
+			double lat = random.nextDouble() * 170 - 85;
+			double lng = random.nextDouble() * 360 - 180;
+			points.add(new double[] { lat, lng });
+			grid.put(id, lat, lng);
+		}
+
+		// Only a handful pass the filter, so the ring walk would never stop early
+		List<GeoGrid.Hit> hits = grid.nearest(18.52, 73.85, 10, 20_000, id -> id % 50 == 0);
+
+		List<Double> expected = new ArrayList<>();
+		for (int id = 0; id < points.size(); id += 50) {
+			expected.add(GeoUtils.distanceKm(18.52, 73.85, points.get(id)[0], points.get(id)[1]));
+		}
+		Collections.sort(expected);
+		assertThat(hits.stream().map(GeoGrid.Hit::distanceKm).toList()).containsExactlyElementsOf(expected);
+	}
+
+	@Test
+	@Timeout(5)
+	void aWorldWideRadiusQueryOnASparseGridFindsEveryPoint() {
+		Random random = new Random(13);
+		GeoGrid grid = new GeoGrid(0.05);
+		for (int id = 0; id < 100; id++) {
+			grid.put(id, random.nextDouble() * 170 - 85, random.nextDouble() * 360 - 180);
+		}
+
+		// Half the earth's circumference (about 20,015 km) reaches every point
+		assertThat(grid.within(18.52, 73.85, 20_016)).hasSize(100);
+		assertThat(grid.within(18.52, 73.85, 1)).isEmpty();
+	}
+}
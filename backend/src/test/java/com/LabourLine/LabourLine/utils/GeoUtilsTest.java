@@ -0,0 +1,50 @@
+package com.LabourLine.LabourLine.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class GeoUtilsTest {
+
+	@Test
+	void theBoundingBoxContainsEveryPointOnTheCircle() {
+		Random random = new Random(3);
+		for (int round = 0; round < 2000; round++) {
+			double lat = random.nextDouble() * 170 - 85;
+			double lng = random.nextDouble() * 360 - 180;
+			double radiusKm = 0.5 + random.nextDouble() * 200;
+			double latDelta = GeoUtils.latDelta(radiusKm);
+			double lngDelta = GeoUtils.lngDelta(lat, radiusKm);
+
+			for (int bearing = 0; bearing < 360; bearing += 5) {
+				double[] edge = destination(lat, lng, bearing, radiusKm);
+				assertThat(GeoUtils.distanceKm(lat, lng, edge[0], edge[1])).isCloseTo(radiusKm, within(1e-6));
+				assertThat(Math.abs(edge[0] - lat)).isLessThanOrEqualTo(latDelta + 1e-9);
+				if (lngDelta < 180) {
+					double dLng = Math.abs(edge[1] - lng);
+					assertThat(Math.min(dLng, 360 - dLng)).isLessThanOrEqualTo(lngDelta + 1e-9);
+				}
+			}
+		}
+	}
+
+	@Test
+	void aCircleOverAPoleCoversEveryLongitude() {
+		assertThat(GeoUtils.lngDelta(89.9, 50)).isEqualTo(180);
+		assertThat(GeoUtils.lngDelta(0, 30_000)).isEqualTo(180);
+	}
+
+	// The point radiusKm away from (lat, lng) along the initial bearing, on the same sphere as distanceKm
+	private static double[] destination(double lat, double lng, double bearingDegrees, double radiusKm) {
+		double d = radiusKm / GeoUtils.EARTH_RADIUS_KM;
+		double phi = Math.toRadians(lat);
+		double theta = Math.toRadians(bearingDegrees);
+		double phi2 = Math.asin(Math.sin(phi) * Math.cos(d) + Math.cos(phi) * Math.sin(d) * Math.cos(theta));
+		double lambda2 = Math.toRadians(lng) + Math.atan2(Math.sin(theta) * Math.sin(d) * Math.cos(phi),
+				Math.cos(d) - Math.sin(phi) * Math.sin(phi2));
+		return new double[] { Math.toDegrees(phi2), Math.toDegrees(lambda2) };
+	}
+}
@@ -0,0 +1,35 @@
+package com.LabourLine.LabourLine.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class LongHashSetTest {
+
+	@Test
+	void behavesLikeAHashSetUnderRandomAddsAndRemoves() {
+		Random random = new Random(42);
+		LongHashSet set = new LongHashSet();
+		Set<Long> expected = new HashSet<>();
+
+		// A small key range forces long probe runs, collisions and backward-shift deletes
+		for (int i = 0; i < 50_000; i++) {
+			long value = random.nextInt(500) - 10;
+			if (random.nextBoolean()) {
+				assertThat(set.add(value)).isEqualTo(expected.add(value));
+			} else {
+				assertThat(set.remove(value)).isEqualTo(expected.remove(value));
+			}
+		}
+
+		assertThat(set.size()).isEqualTo(expected.size());
+		for (long value = -10; value < 490; value++) {
+			assertThat(set.contains(value)).as("contains %d", value).isEqualTo(expected.contains(value));
+		}
+		assertThat(set.toArray()).containsExactlyInAnyOrderElementsOf(expected);
+	}
+}
@@ -0,0 +1,34 @@
+package com.LabourLine.LabourLine.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class SkillIndexTest {
+
+	// "plumber" and "mistri" in Devanagari, both carrying vowel signs and viramas
+	private static final String PLUMBER = "\u092a\u094d\u0932\u0902\u092c\u0930";
+	private static final String MISTRI = "\u092e\u093f\u0938\u094d\u0924\u094d\u0930\u0940";
+
+	@Test
+	void skillTokensAreNormalised() {
+		assertThat(SkillIndex.tokenize("Painters, TILING & glass-work"))
+				.containsExactly("painter", "tiling", "glass", "work");
+	}
+
+	@Test
+	void devanagariSkillsKeepTheirVowelSignsAndViramas() {
+		assertThat(SkillIndex.tokenize(PLUMBER + ", " + MISTRI)).containsExactly(PLUMBER, MISTRI);
+	}
+
+	@Test
+	void aDevanagariSkillMatchesOnlyTheProfilesCarryingIt() {
+		SkillIndex index = new SkillIndex();
+		index.put(1L, PLUMBER);
+		index.put(2L, MISTRI);
+
+		assertThat(index.matchingAny(List.of(PLUMBER)).toArray()).containsExactly(1L);
+	}
+}